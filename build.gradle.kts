@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("application")
 }
 
 group = "com.sunscreenMeasure"
@@ -12,6 +13,16 @@ repositories {
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+application {
+    mainClass.set("com.emart.parking.EmartParkingApplication")
+}
+
+// 콘솔 메뉴가 입력을 받을 수 있도록 표준 입력 연결
+tasks.named<JavaExec>("run") {
+    standardInput = System.`in`
 }
 
 tasks.test {
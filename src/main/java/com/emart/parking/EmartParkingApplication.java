@@ -1,15 +1,47 @@
 package com.emart.parking;
 
+import java.io.IOException;
+
+import com.emart.parking.service.ParkingService;
 import com.emart.parking.ui.ParkingUI;
 
 /**
  * 이마트 둔산점 주차장 관리 시스템 메인 클래스
+ *
+ * <p>
+ * 실행 옵션
+ * <ul>
+ * <li>--primary=포트 : 주 서버로 실행하고 대기 서버의 접속을 받음</li>
+ * <li>--follow=호스트:포트 : 대기 서버로 실행하고 주 서버의 상태를 따라감 (조회 전용)</li>
+ * </ul>
  */
 public class EmartParkingApplication {
 
   public static void main(String[] args) {
+    ParkingService parkingService = new ParkingService();
+
+    // 복제 역할 설정
+    for (String arg : args) {
+      try {
+        if (arg.startsWith("--primary=")) {
+          int port = Integer.parseInt(arg.substring("--primary=".length()));
+          parkingService.startReplicationPrimary(port);
+          System.out.println("주 서버로 실행합니다. (복제 포트: " + port + ")");
+        } else if (arg.startsWith("--follow=")) {
+          String address = arg.substring("--follow=".length());
+          int separator = address.lastIndexOf(':');
+          String host = address.substring(0, separator);
+          int port = Integer.parseInt(address.substring(separator + 1));
+          parkingService.followPrimary(host, port);
+          System.out.println("대기 서버로 실행합니다. (주 서버: " + address + ")");
+        }
+      } catch (IOException | RuntimeException e) {
+        System.err.println("복제 옵션을 적용할 수 없습니다 (" + arg + "): " + e.getMessage());
+      }
+    }
+
     // 주차장 관리 UI 생성 및 실행
-    ParkingUI ui = new ParkingUI();
+    ParkingUI ui = new ParkingUI(parkingService);
     ui.run();
   }
-}
\ No newline at end of file
+}
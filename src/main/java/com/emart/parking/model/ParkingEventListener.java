@@ -0,0 +1,22 @@
+package com.emart.parking.model;
+
+/**
+ * 주차장의 입출차와 예약 이벤트를 전달받는 인터페이스
+ * 주차장 락을 잡은 상태에서 호출되므로 구현은 짧고 블로킹 없이 끝나야 한다.
+ */
+public interface ParkingEventListener {
+
+  // 차량 입차 직후 호출
+  void carParked(ParkingSpace space);
+
+  // 차량 출차 직후 호출 (출차 경로에서 객체를 만들지 않도록 기록 대신 출차 시각을 전달)
+  void carExited(ParkingSpace space, long exitMillis);
+
+  // 예약 생성 직후 호출
+  default void spaceReserved(Reservation reservation) {
+  }
+
+  // 예약 해제 직후 호출 (예약 사용, 취소, 만료, 만료된 예약 교체가 모두 이 한 경로를 거침)
+  default void reservationReleased(Reservation reservation) {
+  }
+}
@@ -2,17 +2,47 @@ package com.emart.parking.model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+
+import com.emart.parking.storage.ParkingRecordSnapshot;
+import com.emart.parking.storage.ParkingRecordStore;
+import com.emart.parking.storage.RetentionPolicy;
+import com.emart.parking.util.PlateCodec;
+import com.emart.parking.util.PlateIndex;
 
 /**
  * 이마트 둔산점 주차장을 나타내는 클래스
+ * 게이트 처리와 백그라운드 작업이 동시에 접근하므로 상태 변경은 객체 락으로 보호한다.
+ * 현황 조회는 불변 스냅샷(ParkingLotSnapshot)을 락 없이 읽는다.
  */
 public class ParkingLot {
   private final Map<Integer, List<ParkingSpace>> parkingSpacesByFloor; // 층별 주차 공간
-  private final List<ParkingRecord> parkingRecords; // 주차 기록
-  private final Map<LocalDate, Integer> dailyRevenue; // 날짜별 매출
+  private final ParkingRecordStore parkingRecords; // 주차 기록 (최근 기록은 메모리, 이전 기록은 디스크)
+  private final Map<LocalDate, Integer> dailyRevenue; // 지난 날짜별 매출
+  private long revenueDay = Long.MIN_VALUE; // 매출을 집계 중인 날짜 (epoch day)
+  private int revenueOfDay; // 집계 중인 날짜의 매출
+  private volatile ParkingEventListener[] eventListeners; // 입출차와 예약 이벤트 수신자 (순회 시 반복자를 만들지 않도록 배열 사용)
+  private final PlateIndex<ParkingSpace> spacesByPlate; // 차량 번호 키별 주차 공간
+  private final StampedLock stateLock; // 주차 공간 상태 변경과 스냅샷 읽기 사이의 순서 보장
+  private long epoch; // 상태 변경 순번 (stateLock 쓰기 락 안에서만 증가)
+  private final AtomicReference<ParkingLotSnapshot> snapshot; // 최근 게시된 점유 상태 스냅샷
+  private final ParkingSpace[] spacesByIndex; // 배정 순서(낮은 층, 낮은 번호 순)로 나열한 주차 공간
+  private final Map<Integer, Integer> floorOffsets; // 층별 첫 공간의 배정 순서 위치
+  private final BitSet assignableSpaces; // 비어 있고 예약도 없는 공간 (배정 순서 위치)
+  private final Map<Long, Reservation> reservationsById; // 예약 번호별 예약
+  private final PlateIndex<Reservation> reservationsByPlate; // 차량 번호 키별 예약 (차량당 하나)
+  private long nextReservationId = 1;
+
+  private static final int MAX_OPTIMISTIC_ATTEMPTS = 8;
+  private static final long MILLIS_PER_MINUTE = 60 * 1000;
 
   // 층별 주차 자리 수
   private static final Map<Integer, Integer> SPACES_PER_FLOOR = new HashMap<>();
@@ -23,11 +53,34 @@ public class ParkingLot {
   }
 
   public ParkingLot() {
+    this(RetentionPolicy.defaultPolicy());
+  }
+
+  public ParkingLot(RetentionPolicy retentionPolicy) {
     this.parkingSpacesByFloor = new HashMap<>();
-    this.parkingRecords = new ArrayList<>();
+    this.parkingRecords = new ParkingRecordStore(retentionPolicy);
     this.dailyRevenue = new HashMap<>();
+    this.eventListeners = new ParkingEventListener[0];
+    this.spacesByPlate = new PlateIndex<>();
+
+    this.stateLock = new StampedLock();
 
     initializeParkingSpaces();
+
+    // 빈 공간 배정용 색인 (층 번호 순)
+    this.floorOffsets = new HashMap<>();
+    List<ParkingSpace> orderedSpaces = new ArrayList<>();
+    for (Map.Entry<Integer, List<ParkingSpace>> entry : new TreeMap<>(parkingSpacesByFloor).entrySet()) {
+      floorOffsets.put(entry.getKey(), orderedSpaces.size());
+      orderedSpaces.addAll(entry.getValue());
+    }
+    this.spacesByIndex = orderedSpaces.toArray(new ParkingSpace[0]);
+    this.assignableSpaces = new BitSet(spacesByIndex.length);
+    this.assignableSpaces.set(0, spacesByIndex.length);
+    this.reservationsById = new HashMap<>();
+    this.reservationsByPlate = new PlateIndex<>();
+
+    this.snapshot = new AtomicReference<>(ParkingLotSnapshot.of(epoch, parkingSpacesByFloor));
   }
 
   // 주차 공간 초기화
@@ -45,118 +98,554 @@ public class ParkingLot {
     }
   }
 
-  // 특정 주차 공간 찾기
-  public ParkingSpace getParkingSpace(int floor, int spaceNumber) {
+  // 특정 주차 공간 찾기 (락을 잡은 상태에서만 호출)
+  private ParkingSpace getParkingSpace(int floor, int spaceNumber) {
     List<ParkingSpace> spaces = parkingSpacesByFloor.get(floor);
     if (spaces == null) {
       return null; // 해당 층이 없음
     }
 
-    for (ParkingSpace space : spaces) {
-      if (space.getSpaceNumber() == spaceNumber) {
-        return space;
+    // 주차 공간 번호는 1부터 순서대로 부여됨
+    if (spaceNumber < 1 || spaceNumber > spaces.size()) {
+      return null; // 해당 번호의 주차 공간이 없음
+    }
+    return spaces.get(spaceNumber - 1);
+  }
+
+  // 입차 처리
+  public synchronized boolean parkCar(int floor, int spaceNumber, String carNumber) {
+    return parkCar(floor, spaceNumber, PlateCodec.encode(carNumber), System.currentTimeMillis());
+  }
+
+  // 입차 처리 (차량 번호 키와 입차 시각 지정 - 복제된 이벤트 적용에 사용)
+  public synchronized boolean parkCar(int floor, int spaceNumber, long plateKey, long parkingStartMillis) {
+    ParkingSpace space = getParkingSpace(floor, spaceNumber);
+    if (space == null || space.isOccupied() || plateKey == PlateCodec.EMPTY_KEY) {
+      return false;
+    }
+
+    // 다른 차량의 예약이 유효한 공간은 배정하지 않음 (예약한 차량이면 예약을 사용한 것으로 처리)
+    Reservation reservation = space.getReservation();
+    if (reservation != null) {
+      if (reservation.getPlateKey() != plateKey && !reservation.isExpired(parkingStartMillis)) {
+        return false;
       }
     }
 
-    return null; // 해당 번호의 주차 공간이 없음
+    // 주차장 상태를 바꾸기 전에 키를 보관 (정리된 키이면 여기서 예외가 나고 상태는 그대로)
+    PlateCodec.retain(plateKey);
+    if (reservation != null) {
+      release(reservation);
+    }
+    // 예약한 차량이 다른 공간에 입차하면 예약해 둔 공간을 풀어 줌
+    Reservation ownReservation = reservationsByPlate.get(plateKey);
+    if (ownReservation != null) {
+      release(ownReservation);
+    }
+
+    occupy(space, plateKey, parkingStartMillis);
+    return true;
   }
 
-  // 입차 처리
-  public boolean parkCar(int floor, int spaceNumber, String carNumber) {
+  /**
+   * 차량을 빈 공간에 자동 배정하여 입차 처리합니다.
+   * 차량에 유효한 예약이 있으면 예약한 공간에, 없으면 예약되지 않은 빈 공간 중 낮은 층, 낮은 번호부터 배정합니다.
+   *
+   * @return 배정된 주차 공간 (빈 공간이 없으면 null)
+   */
+  public synchronized ParkingSpaceSnapshot parkCarAtFreeSpace(String carNumber) {
+    long plateKey = PlateCodec.encode(carNumber);
+    if (plateKey == PlateCodec.EMPTY_KEY || spacesByPlate.get(plateKey) != null) {
+      return null;
+    }
+
+    long now = System.currentTimeMillis();
+    ParkingSpaceSnapshot claimed = claimReservation(plateKey, now);
+    if (claimed != null) {
+      return claimed;
+    }
+
+    int index = assignableSpaces.nextSetBit(0);
+    if (index < 0) {
+      return null;
+    }
+    ParkingSpace space = spacesByIndex[index];
+    PlateCodec.retain(plateKey);
+    occupy(space, plateKey, now);
+    return space.toSnapshot(); // 락 안이므로 공간 하나만 복사 (전체 스냅샷을 다시 만들지 않음)
+  }
+
+  /**
+   * 예약한 차량을 예약된 공간에 입차 처리합니다.
+   *
+   * @param plateKey           차량 번호 키
+   * @param parkingStartMillis 입차 시각
+   * @return 입차한 주차 공간 (유효한 예약이 없으면 null)
+   */
+  public synchronized ParkingSpaceSnapshot claimReservation(long plateKey, long parkingStartMillis) {
+    Reservation reservation = plateKey == PlateCodec.EMPTY_KEY ? null : reservationsByPlate.get(plateKey);
+    if (reservation == null || reservation.isExpired(parkingStartMillis)) {
+      return null;
+    }
+    if (!parkCar(reservation.getFloor(), reservation.getSpaceNumber(), plateKey, parkingStartMillis)) {
+      return null;
+    }
+    return getParkingSpace(reservation.getFloor(), reservation.getSpaceNumber()).toSnapshot();
+  }
+
+  /**
+   * 특정 주차 공간을 예약합니다.
+   * 이미 주차 중이거나 유효한 예약이 있는 공간, 이미 주차 중이거나 예약이 있는 차량은 예약할 수 없습니다.
+   *
+   * @param plateKey        예약 차량 번호 키
+   * @param holdUntilMillis 예약 만료 시각
+   * @return 예약 (예약할 수 없으면 null)
+   */
+  public synchronized Reservation reserveSpace(int floor, int spaceNumber, long plateKey, long holdUntilMillis) {
     ParkingSpace space = getParkingSpace(floor, spaceNumber);
     if (space == null || space.isOccupied()) {
+      return null;
+    }
+    long now = System.currentTimeMillis();
+    Reservation current = space.getReservation();
+    if (current != null) {
+      if (!current.isExpired(now)) {
+        return null;
+      }
+      release(current); // 만료 처리가 아직 돌지 않은 예약
+    }
+    return reserve(space, plateKey, now, holdUntilMillis);
+  }
+
+  /**
+   * 예약되지 않은 빈 공간 중 낮은 층, 낮은 번호부터 하나를 골라 예약합니다.
+   *
+   * @param plateKey        예약 차량 번호 키
+   * @param holdUntilMillis 예약 만료 시각
+   * @return 예약 (빈 공간이 없거나 예약할 수 없는 차량이면 null)
+   */
+  public synchronized Reservation reserveFreeSpace(long plateKey, long holdUntilMillis) {
+    int index = assignableSpaces.nextSetBit(0);
+    if (index < 0) {
+      return null;
+    }
+    return reserve(spacesByIndex[index], plateKey, System.currentTimeMillis(), holdUntilMillis);
+  }
+
+  // 예약 생성 (락을 잡은 상태에서만 호출)
+  private Reservation reserve(ParkingSpace space, long plateKey, long now, long holdUntilMillis) {
+    if (plateKey == PlateCodec.EMPTY_KEY || holdUntilMillis <= now || spacesByPlate.get(plateKey) != null) {
+      return null;
+    }
+    Reservation existing = reservationsByPlate.get(plateKey);
+    if (existing != null && !existing.isExpired(now)) {
+      return null; // 차량당 예약은 하나
+    }
+
+    // 주차장 상태를 바꾸기 전에 키를 보관 (정리된 키이면 여기서 예외가 나고 상태는 그대로)
+    PlateCodec.retain(plateKey);
+    if (existing != null) {
+      release(existing);
+    }
+    Reservation reservation = new Reservation(nextReservationId++, space.getFloor(), space.getSpaceNumber(),
+        plateKey, now, holdUntilMillis);
+    addReservation(space, reservation);
+    return reservation;
+  }
+
+  /**
+   * 주 서버의 예약을 같은 예약 번호로 맞춥니다. 대기 서버가 복제된 예약을 적용할 때 사용합니다.
+   * 공간이나 차량에 걸린 다른 예약은 해제합니다.
+   *
+   * @return 예약을 맞췄으면 true (공간이 없거나 주차 중이면 false)
+   */
+  public synchronized boolean restoreReservation(long reservationId, int floor, int spaceNumber, long plateKey,
+      long reservedMillis, long holdUntilMillis) {
+    ParkingSpace space = getParkingSpace(floor, spaceNumber);
+    if (space == null || space.isOccupied() || plateKey == PlateCodec.EMPTY_KEY) {
+      return false;
+    }
+    Reservation existing = reservationsById.get(reservationId);
+    if (existing != null && existing.getFloor() == floor && existing.getSpaceNumber() == spaceNumber
+        && existing.getPlateKey() == plateKey && existing.getHoldUntilMillis() == holdUntilMillis) {
+      return true; // 이미 같은 예약
+    }
+
+    // 주차장 상태를 바꾸기 전에 키를 보관 (정리된 키이면 여기서 예외가 나고 상태는 그대로)
+    PlateCodec.retain(plateKey);
+    if (existing != null) {
+      release(existing);
+    }
+    if (space.getReservation() != null) {
+      release(space.getReservation());
+    }
+    Reservation ownReservation = reservationsByPlate.get(plateKey);
+    if (ownReservation != null) {
+      release(ownReservation);
+    }
+    // 승격된 뒤에 새로 만드는 예약 번호가 복제된 번호와 겹치지 않게 함
+    nextReservationId = Math.max(nextReservationId, reservationId + 1);
+    addReservation(space, new Reservation(reservationId, floor, spaceNumber, plateKey, reservedMillis,
+        holdUntilMillis));
+    return true;
+  }
+
+  // 예약 등록과 이벤트 전달 (락을 잡은 상태에서, 차량 번호 키를 retain한 뒤에만 호출)
+  private void addReservation(ParkingSpace space, Reservation reservation) {
+    long stamp = stateLock.writeLock();
+    try {
+      space.reserve(reservation);
+      epoch++;
+    } finally {
+      stateLock.unlockWrite(stamp);
+    }
+    assignableSpaces.clear(indexOf(space));
+    reservationsById.put(reservation.getId(), reservation);
+    reservationsByPlate.put(reservation.getPlateKey(), reservation);
+
+    ParkingEventListener[] listeners = eventListeners;
+    for (int i = 0; i < listeners.length; i++) {
+      listeners[i].spaceReserved(reservation);
+    }
+  }
+
+  // 예약 취소
+  public synchronized boolean cancelReservation(long reservationId) {
+    Reservation reservation = reservationsById.get(reservationId);
+    if (reservation == null) {
       return false;
     }
+    release(reservation);
+    return true;
+  }
 
-    space.parkCar(carNumber);
+  // 만료 시각이 지난 예약 해제 (만료 타이머에서 호출, 이미 사용되거나 취소된 예약이면 false)
+  public synchronized boolean expireReservation(long reservationId, long nowMillis) {
+    Reservation reservation = reservationsById.get(reservationId);
+    if (reservation == null || !reservation.isExpired(nowMillis)) {
+      return false;
+    }
+    release(reservation);
     return true;
   }
 
-  // 출차 처리
-  public ParkingRecord exitCar(int floor, int spaceNumber) {
+  // 예약 해제와 이벤트 전달 (락을 잡은 상태에서만 호출, 예약이 사라지는 모든 경로가 이곳을 거침)
+  private void release(Reservation reservation) {
+    ParkingSpace space = getParkingSpace(reservation.getFloor(), reservation.getSpaceNumber());
+    long stamp = stateLock.writeLock();
+    try {
+      space.releaseReservation();
+      epoch++;
+    } finally {
+      stateLock.unlockWrite(stamp);
+    }
+    if (!space.isOccupied()) {
+      assignableSpaces.set(indexOf(space));
+    }
+    reservationsById.remove(reservation.getId());
+    reservationsByPlate.remove(reservation.getPlateKey());
+    PlateCodec.release(reservation.getPlateKey());
+
+    ParkingEventListener[] listeners = eventListeners;
+    for (int i = 0; i < listeners.length; i++) {
+      listeners[i].reservationReleased(reservation);
+    }
+  }
+
+  // 차량 번호로 유효한 예약 찾기 (없으면 null)
+  public synchronized Reservation findReservationByCarNumber(String carNumber) {
+    long plateKey = PlateCodec.find(carNumber);
+    Reservation reservation = plateKey == PlateCodec.EMPTY_KEY ? null : reservationsByPlate.get(plateKey);
+    return reservation == null || reservation.isExpired(System.currentTimeMillis()) ? null : reservation;
+  }
+
+  // 유효한 예약 목록 (만료 시각 순)
+  public synchronized List<Reservation> getReservations() {
+    long now = System.currentTimeMillis();
+    List<Reservation> reservations = new ArrayList<>();
+    for (Reservation reservation : reservationsById.values()) {
+      if (!reservation.isExpired(now)) {
+        reservations.add(reservation);
+      }
+    }
+    reservations.sort(Comparator.comparingLong(Reservation::getHoldUntilMillis));
+    return reservations;
+  }
+
+  // 해제되지 않은 예약 수 (만료 처리 대기 중인 예약 포함)
+  public synchronized int getReservationCount() {
+    return reservationsById.size();
+  }
+
+  // 주차 공간의 배정 순서 위치
+  private int indexOf(ParkingSpace space) {
+    return floorOffsets.get(space.getFloor()) + space.getSpaceNumber() - 1;
+  }
+
+  // 출차 처리 (출차 내역이 필요한 경우 - 기록을 ParkingRecord로 만들어 반환)
+  public synchronized ParkingRecord exitCar(int floor, int spaceNumber) {
+    long sequence = recordExit(floor, spaceNumber);
+    return sequence < 0 ? null : parkingRecords.getRecord(sequence);
+  }
+
+  /**
+   * 출차를 처리하고 기록의 순번을 반환합니다.
+   * 기록은 기본형 배열에 저장되고 매출은 기본형 값으로 누적되므로 이 경로에서는 객체를 만들지 않습니다.
+   * 기록 내용이 필요하면 getParkingRecord(순번)로 조회합니다.
+   *
+   * @return 기록 순번 (출차할 차량이 없으면 -1)
+   */
+  public synchronized long recordExit(int floor, int spaceNumber) {
+    return recordExit(floor, spaceNumber, System.currentTimeMillis());
+  }
+
+  // 출차 처리 (출차 시각 지정 - 복제된 이벤트 적용에 사용)
+  public synchronized long recordExit(int floor, int spaceNumber, long exitMillis) {
     ParkingSpace space = getParkingSpace(floor, spaceNumber);
     if (space == null || !space.isOccupied()) {
-      return null;
+      return -1;
     }
 
-    ParkingRecord record = space.removeParkedCar();
-    if (record != null) {
-      parkingRecords.add(record);
+    long plateKey = space.getPlateKey();
+    long entryMillis = space.getParkingStartMillis();
+    // 기록이 차량 번호 키를 넘겨받은 뒤에 공간을 비움 (사전 등록 키가 그 사이에 정리되지 않도록)
+    long sequence = parkingRecords.add(plateKey, floor, spaceNumber, entryMillis, exitMillis);
+    vacate(space, exitMillis);
 
-      // 일일 매출 업데이트
-      LocalDate today = LocalDate.now();
-      dailyRevenue.put(today, dailyRevenue.getOrDefault(today, 0) + record.getParkingFee());
+    // 일일 매출 업데이트
+    long parkingMinutes = (exitMillis - entryMillis) / MILLIS_PER_MINUTE;
+    addRevenue(exitMillis, ParkingRecord.calculateParkingFee(parkingMinutes));
+    return sequence;
+  }
+
+  /**
+   * 주차 공간의 점유 상태를 주어진 값으로 맞춥니다. 주차 기록과 매출은 남기지 않습니다.
+   * 대기 서버가 주 서버의 현황 스냅샷을 받아 상태를 맞출 때 사용합니다.
+   *
+   * @param plateKey           차량 번호 키 (PlateCodec.EMPTY_KEY이면 빈 공간)
+   * @param parkingStartMillis 입차 시각
+   * @return 주차 공간이 있으면 true
+   */
+  public synchronized boolean restoreSpace(int floor, int spaceNumber, long plateKey, long parkingStartMillis) {
+    ParkingSpace space = getParkingSpace(floor, spaceNumber);
+    if (space == null) {
+      return false;
+    }
+    if (space.isOccupied() && space.getPlateKey() == plateKey && space.getParkingStartMillis() == parkingStartMillis) {
+      return true; // 이미 같은 상태
     }
+    // 주차장 상태를 바꾸기 전에 키를 보관 (정리된 키이면 여기서 예외가 나고 상태는 그대로)
+    PlateCodec.retain(plateKey);
+    if (space.isOccupied()) {
+      vacate(space, System.currentTimeMillis());
+    }
+    if (plateKey != PlateCodec.EMPTY_KEY) {
+      occupy(space, plateKey, parkingStartMillis);
+    }
+    return true;
+  }
 
-    return record;
+  // 주차 공간 점유 처리와 이벤트 전달 (락을 잡은 상태에서, 차량 번호 키를 retain한 뒤에만 호출)
+  private void occupy(ParkingSpace space, long plateKey, long parkingStartMillis) {
+    long stamp = stateLock.writeLock();
+    try {
+      space.parkCar(plateKey, parkingStartMillis);
+      epoch++;
+    } finally {
+      stateLock.unlockWrite(stamp);
+    }
+    spacesByPlate.put(plateKey, space);
+    assignableSpaces.clear(indexOf(space));
+
+    ParkingEventListener[] listeners = eventListeners;
+    for (int i = 0; i < listeners.length; i++) {
+      listeners[i].carParked(space);
+    }
   }
 
-  // 층별 사용 현황 통계
-  public Map<Integer, Map<String, Integer>> getStatisticsByFloor() {
-    Map<Integer, Map<String, Integer>> statistics = new HashMap<>();
+  // 주차 공간 비우기와 이벤트 전달 (락을 잡은 상태에서만 호출)
+  private void vacate(ParkingSpace space, long exitMillis) {
+    long plateKey = space.getPlateKey();
+    long stamp = stateLock.writeLock();
+    try {
+      space.vacate();
+      epoch++;
+    } finally {
+      stateLock.unlockWrite(stamp);
+    }
+    if (spacesByPlate.get(plateKey) == space) {
+      spacesByPlate.remove(plateKey);
+    }
+    PlateCodec.release(plateKey);
+    if (!space.isReserved()) {
+      assignableSpaces.set(indexOf(space));
+    }
+
+    ParkingEventListener[] listeners = eventListeners;
+    for (int i = 0; i < listeners.length; i++) {
+      listeners[i].carExited(space, exitMillis);
+    }
+  }
 
-    for (int floor : parkingSpacesByFloor.keySet()) {
-      List<ParkingSpace> spaces = parkingSpacesByFloor.get(floor);
-      int total = spaces.size();
-      int occupied = 0;
+  // 순번에 해당하는 주차 기록 조회 (메모리에 보관 중인 기록만, 없으면 null)
+  public ParkingRecord getParkingRecord(long sequence) {
+    return parkingRecords.getRecord(sequence);
+  }
 
-      for (ParkingSpace space : spaces) {
-        if (space.isOccupied()) {
-          occupied++;
-        }
+  // 출차일 매출 누적 (날짜가 바뀔 때만 지난 날짜의 매출을 Map으로 옮김)
+  private void addRevenue(long exitMillis, int fee) {
+    long day = parkingRecords.toEpochDay(exitMillis);
+    if (day != revenueDay) {
+      if (day < revenueDay) {
+        // 시계가 되돌아간 경우 등 지난 날짜의 출차
+        dailyRevenue.merge(LocalDate.ofEpochDay(day), fee, Integer::sum);
+        return;
       }
+      if (revenueDay != Long.MIN_VALUE) {
+        dailyRevenue.put(LocalDate.ofEpochDay(revenueDay), revenueOfDay);
+      }
+      revenueDay = day;
+      revenueOfDay = 0;
+    }
+    revenueOfDay += fee;
+  }
 
-      Map<String, Integer> floorStats = new HashMap<>();
-      floorStats.put("전체", total);
-      floorStats.put("사용중", occupied);
-      floorStats.put("비어있음", total - occupied);
+  // 차량 번호로 주차 위치 찾기 (주차 중이 아니면 null)
+  public synchronized ParkingSpaceSnapshot findParkingSpaceByCarNumber(String carNumber) {
+    long plateKey = PlateCodec.find(carNumber);
+    ParkingSpace space = plateKey == PlateCodec.EMPTY_KEY ? null : spacesByPlate.get(plateKey);
+    return space == null ? null : space.toSnapshot();
+  }
 
-      statistics.put(floor, floorStats);
-    }
+  // 입출차와 예약 이벤트 수신자 등록
+  public synchronized void addEventListener(ParkingEventListener listener) {
+    ParkingEventListener[] listeners = Arrays.copyOf(eventListeners, eventListeners.length + 1);
+    listeners[listeners.length - 1] = listener;
+    eventListeners = listeners;
+  }
 
-    return statistics;
+  // 입출차와 예약 이벤트 리스너 해제
+  public synchronized void removeEventListener(ParkingEventListener listener) {
+    ParkingEventListener[] listeners = eventListeners;
+    for (int i = 0; i < listeners.length; i++) {
+      if (listeners[i] == listener) {
+        ParkingEventListener[] remaining = new ParkingEventListener[listeners.length - 1];
+        System.arraycopy(listeners, 0, remaining, 0, i);
+        System.arraycopy(listeners, i + 1, remaining, i, listeners.length - i - 1);
+        eventListeners = remaining;
+        return;
+      }
+    }
   }
 
-  // 전체 주차장 사용 현황 통계
-  public Map<String, Integer> getTotalStatistics() {
-    int totalSpaces = 0;
-    int occupiedSpaces = 0;
+  /**
+   * 현재 점유 상태 스냅샷을 반환합니다.
+   * 마지막 스냅샷 이후 상태가 바뀌지 않았으면 게시된 스냅샷을 그대로 반환하고(O(1)),
+   * 바뀌었으면 낙관적 읽기로 새 스냅샷을 만들어(O(공간 수)) 게시합니다.
+   * 보통은 읽기 락을 잡지 않으므로 입출차 처리는 기다리지 않습니다. 입출차가 몰려 낙관적 읽기가 계속 실패하면
+   * 읽기 락을 잠깐 잡고 만들어, 반환하는 스냅샷이 호출 시점보다 오래된 상태가 되지 않도록 합니다.
+   */
+  public ParkingLotSnapshot getSnapshot() {
+    ParkingLotSnapshot current = snapshot.get();
+    long stamp = stateLock.tryOptimisticRead();
+    long currentEpoch = epoch;
+    if (stateLock.validate(stamp) && current.getEpoch() == currentEpoch) {
+      return current;
+    }
 
-    for (List<ParkingSpace> spaces : parkingSpacesByFloor.values()) {
-      totalSpaces += spaces.size();
+    ParkingLotSnapshot rebuilt = buildSnapshot();
+    while (true) {
+      ParkingLotSnapshot published = snapshot.get();
+      if (published.getEpoch() >= rebuilt.getEpoch()) {
+        return published; // 다른 조회에서 같거나 더 최신 스냅샷을 이미 게시함
+      }
+      if (snapshot.compareAndSet(published, rebuilt)) {
+        return rebuilt;
+      }
+    }
+  }
 
-      for (ParkingSpace space : spaces) {
-        if (space.isOccupied()) {
-          occupiedSpaces++;
+  // 주차 공간 상태를 읽어 스냅샷 생성 (읽는 도중 상태가 바뀌면 다시 읽고, 계속 바뀌면 읽기 락을 잡고 읽음)
+  private ParkingLotSnapshot buildSnapshot() {
+    for (int attempt = 0; attempt < MAX_OPTIMISTIC_ATTEMPTS; attempt++) {
+      long stamp = stateLock.tryOptimisticRead();
+      if (stamp != 0) {
+        ParkingLotSnapshot candidate = ParkingLotSnapshot.of(epoch, parkingSpacesByFloor);
+        if (stateLock.validate(stamp)) {
+          return candidate;
         }
       }
+      Thread.onSpinWait();
+    }
+    // 쓰기 락은 공간 하나를 바꾸는 동안만 잡히므로 오래 기다리지 않음
+    long stamp = stateLock.readLock();
+    try {
+      return ParkingLotSnapshot.of(epoch, parkingSpacesByFloor);
+    } finally {
+      stateLock.unlockRead(stamp);
     }
+  }
 
-    Map<String, Integer> statistics = new HashMap<>();
-    statistics.put("전체", totalSpaces);
-    statistics.put("사용중", occupiedSpaces);
-    statistics.put("비어있음", totalSpaces - occupiedSpaces);
+  // 층별 사용 현황 통계
+  public Map<Integer, Map<String, Integer>> getStatisticsByFloor() {
+    return getSnapshot().getStatisticsByFloor();
+  }
 
-    return statistics;
+  // 전체 주차장 사용 현황 통계
+  public Map<String, Integer> getTotalStatistics() {
+    return getSnapshot().getTotalStatistics();
   }
 
   // 특정 일자의 매출 조회
-  public int getDailyRevenue(LocalDate date) {
+  public synchronized int getDailyRevenue(LocalDate date) {
+    if (date.toEpochDay() == revenueDay) {
+      return revenueOfDay;
+    }
     return dailyRevenue.getOrDefault(date, 0);
   }
 
-  // 층별 주차 공간 목록 반환
-  public List<ParkingSpace> getParkingSpacesByFloor(int floor) {
-    return parkingSpacesByFloor.getOrDefault(floor, new ArrayList<>());
+  // 층별 주차 공간 목록 반환 (최근 스냅샷 기준, 수정 불가)
+  public List<ParkingSpaceSnapshot> getParkingSpacesByFloor(int floor) {
+    return getSnapshot().getParkingSpacesByFloor(floor);
+  }
+
+  // 특정 주차 공간 상태 반환 (최근 스냅샷 기준)
+  public ParkingSpaceSnapshot getParkingSpaceSnapshot(int floor, int spaceNumber) {
+    return getSnapshot().getParkingSpace(floor, spaceNumber);
   }
 
   // 전체 층 목록 반환
   public List<Integer> getFloorList() {
-    return new ArrayList<>(parkingSpacesByFloor.keySet());
+    return getSnapshot().getFloorList();
+  }
+
+  // 메모리에 보관 중인 최근 주차 기록 반환
+  public List<ParkingRecord> getRecentParkingRecords() {
+    return parkingRecords.snapshot().getHotRecords();
+  }
+
+  // 출차일이 기간에 포함되는 주차 기록 반환
+  public List<ParkingRecord> getParkingRecords(LocalDate from, LocalDate to) {
+    return parkingRecords.snapshot().getRecords(from, to);
+  }
+
+  // 전체 주차 기록 수 (기록을 읽지 않음)
+  public long getParkingRecordCount() {
+    return parkingRecords.size();
+  }
+
+  // 호출 시점의 주차 기록 뷰 반환 (이후 입출차와 무관하게 일관된 내용을 유지)
+  public ParkingRecordSnapshot getParkingRecordSnapshot() {
+    return parkingRecords.snapshot();
+  }
+
+  // 최근 기록을 메모리에 보관하는 기간 (일)
+  public int getHotRetentionDays() {
+    return parkingRecords.getPolicy().getHotDays();
   }
 
-  // 주차 기록 반환
-  public List<ParkingRecord> getParkingRecords() {
-    return new ArrayList<>(parkingRecords);
+  // 주차 기록 저장소 종료 (진행 중인 세그먼트 저장은 마칠 때까지 대기)
+  public void close() {
+    parkingRecords.close();
   }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.emart.parking.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 특정 시점(epoch)의 주차장 점유 상태를 담은 불변 객체
+ *
+ * <p>
+ * 주차장은 상태가 바뀔 때마다 epoch만 올리고, 스냅샷은 조회하는 쪽이 epoch가 바뀐 것을 확인했을 때
+ * 낙관적 읽기로 한 번 만들어 게시한다. 이후 같은 epoch의 조회는 게시된 스냅샷을 그대로 받는다.
+ * 조회하는 쪽은 일관된 상태를 끝까지 순회할 수 있고, 그동안 게이트의 입출차 처리는 기다리지 않는다.
+ */
+public final class ParkingLotSnapshot {
+  private final long epoch; // 상태 변경 순번 (상태가 바뀔 때마다 증가)
+  private final Map<Integer, List<ParkingSpaceSnapshot>> spacesByFloor; // 층별 주차 공간 (층 번호 순)
+  private final Map<Integer, Integer> occupiedByFloor; // 층별 사용 중인 공간 수
+  private final Map<Integer, Integer> reservedByFloor; // 층별 예약된 빈 공간 수
+
+  private ParkingLotSnapshot(long epoch, Map<Integer, List<ParkingSpaceSnapshot>> spacesByFloor,
+      Map<Integer, Integer> occupiedByFloor, Map<Integer, Integer> reservedByFloor) {
+    this.epoch = epoch;
+    this.spacesByFloor = spacesByFloor;
+    this.occupiedByFloor = occupiedByFloor;
+    this.reservedByFloor = reservedByFloor;
+  }
+
+  // 주차 공간 목록의 현재 상태로 스냅샷 생성 (상태가 바뀌지 않는 동안 호출해야 함)
+  static ParkingLotSnapshot of(long epoch, Map<Integer, List<ParkingSpace>> parkingSpacesByFloor) {
+    Map<Integer, List<ParkingSpaceSnapshot>> spacesByFloor = new TreeMap<>();
+    Map<Integer, Integer> occupiedByFloor = new HashMap<>();
+    Map<Integer, Integer> reservedByFloor = new HashMap<>();
+    for (Map.Entry<Integer, List<ParkingSpace>> entry : parkingSpacesByFloor.entrySet()) {
+      List<ParkingSpaceSnapshot> spaces = new ArrayList<>();
+      int occupied = 0;
+      int reserved = 0;
+      for (ParkingSpace space : entry.getValue()) {
+        ParkingSpaceSnapshot snapshot = space.toSnapshot();
+        spaces.add(snapshot);
+        if (snapshot.isOccupied()) {
+          occupied++;
+        } else if (snapshot.isReserved()) {
+          reserved++;
+        }
+      }
+      spacesByFloor.put(entry.getKey(), Collections.unmodifiableList(spaces));
+      occupiedByFloor.put(entry.getKey(), occupied);
+      reservedByFloor.put(entry.getKey(), reserved);
+    }
+    return new ParkingLotSnapshot(epoch, Collections.unmodifiableMap(spacesByFloor), occupiedByFloor,
+        reservedByFloor);
+  }
+
+  // 상태 변경 순번
+  public long getEpoch() {
+    return epoch;
+  }
+
+  // 전체 층 목록 반환
+  public List<Integer> getFloorList() {
+    return new ArrayList<>(spacesByFloor.keySet());
+  }
+
+  // 층별 주차 공간 목록 반환 (수정 불가)
+  public List<ParkingSpaceSnapshot> getParkingSpacesByFloor(int floor) {
+    return spacesByFloor.getOrDefault(floor, Collections.emptyList());
+  }
+
+  // 특정 주차 공간 찾기
+  public ParkingSpaceSnapshot getParkingSpace(int floor, int spaceNumber) {
+    List<ParkingSpaceSnapshot> spaces = spacesByFloor.get(floor);
+    if (spaces == null || spaceNumber < 1 || spaceNumber > spaces.size()) {
+      return null;
+    }
+    return spaces.get(spaceNumber - 1);
+  }
+
+  // 층별 사용 현황 통계
+  public Map<Integer, Map<String, Integer>> getStatisticsByFloor() {
+    Map<Integer, Map<String, Integer>> statistics = new HashMap<>();
+
+    for (Map.Entry<Integer, List<ParkingSpaceSnapshot>> entry : spacesByFloor.entrySet()) {
+      int total = entry.getValue().size();
+      int occupied = occupiedByFloor.get(entry.getKey());
+      int reserved = reservedByFloor.get(entry.getKey());
+
+      Map<String, Integer> floorStats = new HashMap<>();
+      floorStats.put("전체", total);
+      floorStats.put("사용중", occupied);
+      floorStats.put("예약", reserved);
+      floorStats.put("비어있음", total - occupied - reserved);
+
+      statistics.put(entry.getKey(), floorStats);
+    }
+
+    return statistics;
+  }
+
+  // 전체 주차장 사용 현황 통계
+  public Map<String, Integer> getTotalStatistics() {
+    int totalSpaces = 0;
+    int occupiedSpaces = 0;
+    int reservedSpaces = 0;
+
+    for (Map.Entry<Integer, List<ParkingSpaceSnapshot>> entry : spacesByFloor.entrySet()) {
+      totalSpaces += entry.getValue().size();
+      occupiedSpaces += occupiedByFloor.get(entry.getKey());
+      reservedSpaces += reservedByFloor.get(entry.getKey());
+    }
+
+    Map<String, Integer> statistics = new HashMap<>();
+    statistics.put("전체", totalSpaces);
+    statistics.put("사용중", occupiedSpaces);
+    statistics.put("예약", reservedSpaces);
+    statistics.put("비어있음", totalSpaces - occupiedSpaces - reservedSpaces);
+
+    return statistics;
+  }
+}
@@ -4,11 +4,14 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import com.emart.parking.util.PlateCodec;
+
 /**
  * 주차 기록을 나타내는 클래스
  */
 public class ParkingRecord {
-  private final String carNumber; // 차량 번호
+  private final long plateKey; // 차량 번호 키 (PlateCodec)
+  private final String plate; // 사전 등록 번호판 원문 (표준 번호판이면 null, 사전이 정리되어도 유지)
   private final int floor; // 주차 층
   private final int spaceNumber; // 주차 자리 번호
   private final LocalDateTime entryTime; // 입차 시간
@@ -18,9 +21,29 @@ public class ParkingRecord {
 
   private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+  // 차량 번호 문자열로 생성 (번호판 사전에 등록하지 않음)
   public ParkingRecord(String carNumber, int floor, int spaceNumber,
       LocalDateTime entryTime, LocalDateTime exitTime) {
-    this.carNumber = carNumber;
+    this(PlateCodec.find(carNumber), carNumber == null ? null : PlateCodec.normalize(carNumber),
+        floor, spaceNumber, entryTime, exitTime);
+  }
+
+  public ParkingRecord(long plateKey, int floor, int spaceNumber,
+      LocalDateTime entryTime, LocalDateTime exitTime) {
+    this(plateKey, PlateCodec.isPacked(plateKey) ? null : PlateCodec.decode(plateKey),
+        floor, spaceNumber, entryTime, exitTime);
+  }
+
+  /**
+   * 차량 번호 키와 원문으로 생성합니다.
+   *
+   * @param plateKey 차량 번호 키 (사전에 없는 번호판이면 PlateCodec.EMPTY_KEY)
+   * @param plate    표준 번호판이 아닐 때의 원문 (표준 번호판이면 null)
+   */
+  public ParkingRecord(long plateKey, String plate, int floor, int spaceNumber,
+      LocalDateTime entryTime, LocalDateTime exitTime) {
+    this.plateKey = plateKey;
+    this.plate = PlateCodec.isPacked(plateKey) ? null : plate;
     this.floor = floor;
     this.spaceNumber = spaceNumber;
     this.entryTime = entryTime;
@@ -36,6 +59,11 @@ public class ParkingRecord {
 
   // 주차 요금 계산
   private int calculateParkingFee() {
+    return calculateParkingFee(parkingDuration);
+  }
+
+  // 주차 시간(분)에 따른 주차 요금 계산
+  public static int calculateParkingFee(long parkingDuration) {
     // 최초 30분까지 2,000원
     // 10분마다 500원씩 추가 (30분 이후부터)
     int fee = 2000; // 기본 요금
@@ -53,14 +81,18 @@ public class ParkingRecord {
   // CSV 형식으로 데이터 반환
   public String toCsvString() {
     return String.format("%s,%d,%d,%s,%s,%d,%d",
-        carNumber, floor, spaceNumber,
+        getCarNumber(), floor, spaceNumber,
         entryTime.format(formatter), exitTime.format(formatter),
         parkingDuration, parkingFee);
   }
 
   // Getter 메서드
   public String getCarNumber() {
-    return carNumber;
+    return plate != null ? plate : PlateCodec.decode(plateKey);
+  }
+
+  public long getPlateKey() {
+    return plateKey;
   }
 
   public int getFloor() {
@@ -90,7 +122,7 @@ public class ParkingRecord {
   @Override
   public String toString() {
     return String.format("차량번호: %s | 위치: %d층-%03d | 입차: %s | 출차: %s | 주차시간: %d분 | 요금: %,d원",
-        carNumber, floor, spaceNumber,
+        getCarNumber(), floor, spaceNumber,
         entryTime.format(formatter), exitTime.format(formatter),
         parkingDuration, parkingFee);
   }
@@ -1,6 +1,10 @@
 package com.emart.parking.model;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.emart.parking.util.PlateCodec;
 
 /**
  * 개별 주차 공간을 나타내는 클래스
@@ -9,43 +13,55 @@ public class ParkingSpace {
   private final int floor; // 층 번호
   private final int spaceNumber; // 주차 공간 번호
   private boolean occupied; // 주차 공간 점유 여부
-  private String carNumber; // 주차된 차량 번호
-  private LocalDateTime parkingStartTime; // 주차 시작 시간
+  private long plateKey; // 주차된 차량 번호 키 (PlateCodec)
+  private long parkingStartMillis; // 주차 시작 시각 (epoch 밀리초, 비어있으면 0)
+  private Reservation reservation; // 이 공간에 걸린 예약 (없으면 null)
 
   public ParkingSpace(int floor, int spaceNumber) {
     this.floor = floor;
     this.spaceNumber = spaceNumber;
     this.occupied = false;
-    this.carNumber = null;
-    this.parkingStartTime = null;
+    this.plateKey = PlateCodec.EMPTY_KEY;
+    this.parkingStartMillis = 0L;
   }
 
   // 차량 입차 처리
   public void parkCar(String carNumber) {
-    this.occupied = true;
-    this.carNumber = carNumber;
-    this.parkingStartTime = LocalDateTime.now();
+    parkCar(PlateCodec.encode(carNumber));
   }
 
-  // 차량 출차 처리
-  public ParkingRecord removeParkedCar() {
-    if (!this.occupied) {
-      return null;
-    }
+  // 차량 입차 처리 (차량 번호 키 사용)
+  public void parkCar(long plateKey) {
+    parkCar(plateKey, System.currentTimeMillis());
+  }
 
-    LocalDateTime exitTime = LocalDateTime.now();
-    ParkingRecord record = new ParkingRecord(
-        this.carNumber,
-        this.floor,
-        this.spaceNumber,
-        this.parkingStartTime,
-        exitTime);
+  // 차량 입차 처리 (차량 번호 키와 입차 시각 지정)
+  public void parkCar(long plateKey, long parkingStartMillis) {
+    this.occupied = true;
+    this.plateKey = plateKey;
+    this.parkingStartMillis = parkingStartMillis;
+  }
 
+  // 차량 출차 처리 (기록은 주차장이 보관)
+  public void vacate() {
     this.occupied = false;
-    this.carNumber = null;
-    this.parkingStartTime = null;
+    this.plateKey = PlateCodec.EMPTY_KEY;
+    this.parkingStartMillis = 0L;
+  }
 
-    return record;
+  // 예약 설정
+  public void reserve(Reservation reservation) {
+    this.reservation = reservation;
+  }
+
+  // 예약 해제
+  public void releaseReservation() {
+    this.reservation = null;
+  }
+
+  // 현재 상태의 불변 스냅샷 생성
+  public ParkingSpaceSnapshot toSnapshot() {
+    return new ParkingSpaceSnapshot(floor, spaceNumber, occupied, plateKey, parkingStartMillis, reservation);
   }
 
   // Getter 및 Setter 메서드
@@ -62,18 +78,37 @@ public class ParkingSpace {
   }
 
   public String getCarNumber() {
-    return carNumber;
+    return PlateCodec.decode(plateKey);
+  }
+
+  public long getPlateKey() {
+    return plateKey;
   }
 
   public LocalDateTime getParkingStartTime() {
-    return parkingStartTime;
+    return occupied ? LocalDateTime.ofInstant(Instant.ofEpochMilli(parkingStartMillis), ZoneId.systemDefault()) : null;
+  }
+
+  public long getParkingStartMillis() {
+    return parkingStartMillis;
+  }
+
+  public boolean isReserved() {
+    return reservation != null;
+  }
+
+  public Reservation getReservation() {
+    return reservation;
   }
 
   @Override
   public String toString() {
     if (occupied) {
       return String.format("[%d층-%03d] 점유 (차량번호: %s, 입차시간: %s)",
-          floor, spaceNumber, carNumber, parkingStartTime);
+          floor, spaceNumber, getCarNumber(), getParkingStartTime());
+    } else if (reservation != null) {
+      return String.format("[%d층-%03d] 예약 (차량번호: %s, 만료: %s)",
+          floor, spaceNumber, reservation.getCarNumber(), reservation.getHoldUntil());
     } else {
       return String.format("[%d층-%03d] 비어있음", floor, spaceNumber);
     }
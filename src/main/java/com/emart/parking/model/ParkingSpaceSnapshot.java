@@ -0,0 +1,87 @@
+package com.emart.parking.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 특정 시점의 주차 공간 상태를 담은 불변 객체
+ * 점유 여부, 차량 번호, 입차 시간이 항상 같은 시점의 값이므로 조회 중에 어긋난 상태를 볼 수 없다.
+ */
+public final class ParkingSpaceSnapshot {
+  private final int floor; // 층 번호
+  private final int spaceNumber; // 주차 공간 번호
+  private final boolean occupied; // 주차 공간 점유 여부
+  private final String plate; // 사전 등록 번호판 원문 (표준 번호판이면 null)
+  private final long plateKey; // 주차된 차량 번호 키 (PlateCodec)
+  private final long parkingStartMillis; // 주차 시작 시각 (epoch 밀리초)
+  private final LocalDateTime parkingStartTime; // 주차 시작 시간
+  private final Reservation reservation; // 예약 (없으면 null)
+
+  ParkingSpaceSnapshot(int floor, int spaceNumber, boolean occupied, long plateKey,
+      long parkingStartMillis, Reservation reservation) {
+    this.floor = floor;
+    this.spaceNumber = spaceNumber;
+    this.occupied = occupied;
+    this.plateKey = plateKey;
+    this.plate = PlateCodec.isPacked(plateKey) ? null : PlateCodec.decode(plateKey);
+    this.parkingStartMillis = occupied ? parkingStartMillis : 0L;
+    this.parkingStartTime = occupied
+        ? LocalDateTime.ofInstant(Instant.ofEpochMilli(parkingStartMillis), ZoneId.systemDefault())
+        : null;
+    this.reservation = reservation;
+  }
+
+  // Getter 메서드
+  public int getFloor() {
+    return floor;
+  }
+
+  public int getSpaceNumber() {
+    return spaceNumber;
+  }
+
+  public boolean isOccupied() {
+    return occupied;
+  }
+
+  public String getCarNumber() {
+    return plate != null ? plate : PlateCodec.decode(plateKey);
+  }
+
+  public long getPlateKey() {
+    return plateKey;
+  }
+
+  public LocalDateTime getParkingStartTime() {
+    return parkingStartTime;
+  }
+
+  public long getParkingStartMillis() {
+    return parkingStartMillis;
+  }
+
+  public boolean isReserved() {
+    return reservation != null;
+  }
+
+  // 예약 정보 (예약이 없으면 null)
+  public Reservation getReservation() {
+    return reservation;
+  }
+
+  @Override
+  public String toString() {
+    if (occupied) {
+      return String.format("[%d층-%03d] 점유 (차량번호: %s, 입차시간: %s)",
+          floor, spaceNumber, getCarNumber(), parkingStartTime);
+    } else if (reservation != null) {
+      return String.format("[%d층-%03d] 예약 (차량번호: %s, 만료: %s)",
+          floor, spaceNumber, reservation.getCarNumber(), reservation.getHoldUntil());
+    } else {
+      return String.format("[%d층-%03d] 비어있음", floor, spaceNumber);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.emart.parking.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 사전 예약 고객(VIP, 온라인 주문 픽업)을 위한 주차 공간 예약
+ * 만료 시각까지 해당 공간을 다른 차량에 배정하지 않는다. 예약은 만들어진 뒤 바뀌지 않는다.
+ */
+public final class Reservation {
+  private final long id; // 예약 번호
+  private final int floor; // 예약 층
+  private final int spaceNumber; // 예약 자리 번호
+  private final String plate; // 사전 등록 번호판 원문 (표준 번호판이면 null)
+  private final long plateKey; // 예약 차량 번호 키 (PlateCodec)
+  private final long reservedMillis; // 예약 시각 (epoch 밀리초)
+  private final long holdUntilMillis; // 예약 만료 시각 (epoch 밀리초)
+
+  private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  Reservation(long id, int floor, int spaceNumber, long plateKey, long reservedMillis, long holdUntilMillis) {
+    this.id = id;
+    this.floor = floor;
+    this.spaceNumber = spaceNumber;
+    this.plateKey = plateKey;
+    this.plate = PlateCodec.isPacked(plateKey) ? null : PlateCodec.decode(plateKey);
+    this.reservedMillis = reservedMillis;
+    this.holdUntilMillis = holdUntilMillis;
+  }
+
+  // 지정한 시각에 예약이 만료되었는지 여부
+  public boolean isExpired(long nowMillis) {
+    return nowMillis >= holdUntilMillis;
+  }
+
+  // Getter 메서드
+  public long getId() {
+    return id;
+  }
+
+  public int getFloor() {
+    return floor;
+  }
+
+  public int getSpaceNumber() {
+    return spaceNumber;
+  }
+
+  public long getPlateKey() {
+    return plateKey;
+  }
+
+  public String getCarNumber() {
+    return plate != null ? plate : PlateCodec.decode(plateKey);
+  }
+
+  public long getReservedMillis() {
+    return reservedMillis;
+  }
+
+  public long getHoldUntilMillis() {
+    return holdUntilMillis;
+  }
+
+  public LocalDateTime getReservedTime() {
+    return toLocalDateTime(reservedMillis);
+  }
+
+  public LocalDateTime getHoldUntil() {
+    return toLocalDateTime(holdUntilMillis);
+  }
+
+  private static LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("예약번호: %d | 차량번호: %s | 위치: %d층-%03d | 만료: %s",
+        id, getCarNumber(), floor, spaceNumber, getHoldUntil().format(formatter));
+  }
+}
@@ -0,0 +1,280 @@
+package com.emart.parking.replication;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.emart.parking.model.ParkingLot;
+import com.emart.parking.model.ParkingLotSnapshot;
+import com.emart.parking.model.ParkingSpaceSnapshot;
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 대기 서버 복제 담당
+ *
+ * <p>
+ * 주 서버에 접속해 점유 현황과 예약 스냅샷을 받아 자신의 주차장을 맞춘 뒤, 이어지는 입출차와 예약 이벤트를 순서대로 적용한다.
+ * 예약은 주 서버와 같은 예약 번호로 맞추므로 승격된 뒤에도 같은 공간을 잡아 둔다.
+ * 연결이 끊기거나 적용 중 오류가 나면 주기적으로 다시 접속하며, 다시 접속할 때마다 스냅샷부터 받으므로 놓친 이벤트가 없다.
+ * 메시지는 소켓에서 끝까지 읽은 뒤에 주차장 락을 잡고 적용하므로, 느린 연결이 주차장 조회를 막지 않는다.
+ * 주 서버는 이벤트가 없을 때도 연결 확인 메시지를 보내므로, 일정 시간 아무것도 받지 못하면 끊긴 연결로 보고 다시 접속한다.
+ * 스냅샷 이전에 주 서버에 쌓인 주차 기록과 매출은 복제하지 않는다.
+ */
+public class ReplicationFollower {
+  private static final long RECONNECT_DELAY_MILLIS = 1000;
+  private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+  private static final int SOCKET_BUFFER_SIZE = 64 * 1024;
+
+  private final ParkingLot parkingLot;
+  private final String host;
+  private final int port;
+  private final Thread receiver;
+  private volatile boolean running;
+  private volatile boolean connected;
+  private volatile Socket socket;
+  private volatile long appliedSequence; // 다음에 적용할 이벤트 순번
+
+  /**
+   * 주 서버에 접속해 복제를 시작합니다.
+   *
+   * @param parkingLot 이벤트를 적용할 주차장
+   * @param host       주 서버 주소
+   * @param port       주 서버 복제 포트
+   */
+  public ReplicationFollower(ParkingLot parkingLot, String host, int port) {
+    this.parkingLot = parkingLot;
+    this.host = host;
+    this.port = port;
+    this.running = true;
+    this.receiver = new Thread(this::receive, "replication-receiver");
+    this.receiver.setDaemon(true);
+    this.receiver.start();
+  }
+
+  // 접속과 수신 반복 (연결이 끊기면 다시 접속)
+  private void receive() {
+    while (running) {
+      try (Socket connection = new Socket()) {
+        // 접속 전에 등록해 두어 stop()이 접속 대기 중인 소켓도 닫을 수 있게 함
+        socket = connection;
+        if (!running) {
+          return;
+        }
+        connection.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+        connection.setSoTimeout(ReplicationProtocol.READ_TIMEOUT_MILLIS);
+        DataInputStream in = new DataInputStream(
+            new BufferedInputStream(connection.getInputStream(), SOCKET_BUFFER_SIZE));
+        connected = true;
+        while (running) {
+          byte type = in.readByte();
+          if (type == ReplicationProtocol.MSG_SNAPSHOT) {
+            applySnapshot(in);
+          } else if (type == ReplicationProtocol.MSG_EVENTS) {
+            applyEvents(in);
+          } else if (type != ReplicationProtocol.MSG_HEARTBEAT) {
+            throw new IOException("알 수 없는 복제 메시지입니다: " + type);
+          }
+        }
+      } catch (IOException e) {
+        if (running) {
+          System.err.println("주 서버 연결 끊김 (" + host + ":" + port + "): " + e.getMessage());
+        }
+      } catch (RuntimeException e) {
+        // 적용 중 오류로 수신 스레드가 끝나지 않도록 연결을 끊고 스냅샷부터 다시 받음
+        if (running) {
+          System.err.println("복제 적용 오류 (" + host + ":" + port + "): " + e);
+        }
+      } finally {
+        connected = false;
+        socket = null;
+      }
+
+      if (running) {
+        try {
+          Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    }
+  }
+
+  // 점유 현황과 예약 스냅샷을 받아 주차장 상태를 맞춤 (모두 읽은 뒤에 락을 잡고 적용)
+  private void applySnapshot(DataInputStream in) throws IOException {
+    long nextSequence = in.readLong();
+    int count = in.readInt();
+    int[] floors = new int[count];
+    int[] spaceNumbers = new int[count];
+    long[] parkingStartMillis = new long[count];
+    long[] plateKeys = new long[count];
+    String[] plates = new String[count];
+    for (int i = 0; i < count; i++) {
+      floors[i] = in.readInt();
+      spaceNumbers[i] = in.readInt();
+      parkingStartMillis[i] = in.readLong();
+      plateKeys[i] = ReplicationProtocol.readPlateKey(in);
+      plates[i] = ReplicationProtocol.readPlateText(in, plateKeys[i]);
+    }
+    int reservationCount = in.readInt();
+    long[] reservationIds = new long[reservationCount];
+    int[] reservedFloors = new int[reservationCount];
+    int[] reservedSpaceNumbers = new int[reservationCount];
+    long[] reservedMillis = new long[reservationCount];
+    long[] holdUntilMillis = new long[reservationCount];
+    long[] reservedPlateKeys = new long[reservationCount];
+    String[] reservedPlates = new String[reservationCount];
+    Set<Long> reservationIdSet = new HashSet<>();
+    for (int i = 0; i < reservationCount; i++) {
+      reservationIds[i] = in.readLong();
+      reservedFloors[i] = in.readInt();
+      reservedSpaceNumbers[i] = in.readInt();
+      reservedMillis[i] = in.readLong();
+      holdUntilMillis[i] = in.readLong();
+      reservedPlateKeys[i] = ReplicationProtocol.readPlateKey(in);
+      reservedPlates[i] = ReplicationProtocol.readPlateText(in, reservedPlateKeys[i]);
+      reservationIdSet.add(reservationIds[i]);
+    }
+
+    Set<Long> occupiedSpaces = new HashSet<>();
+    synchronized (parkingLot) {
+      if (!running) {
+        return; // 승격된 뒤에는 적용하지 않음
+      }
+      // 주 서버에 없는 예약은 먼저 해제
+      ParkingLotSnapshot before = parkingLot.getSnapshot();
+      for (int floor : before.getFloorList()) {
+        for (ParkingSpaceSnapshot space : before.getParkingSpacesByFloor(floor)) {
+          if (space.isReserved() && !reservationIdSet.contains(space.getReservation().getId())) {
+            parkingLot.cancelReservation(space.getReservation().getId());
+          }
+        }
+      }
+
+      for (int i = 0; i < count; i++) {
+        long plateKey = ReplicationProtocol.toLocalKey(plateKeys[i], plates[i]);
+        parkingLot.restoreSpace(floors[i], spaceNumbers[i], plateKey, parkingStartMillis[i]);
+        occupiedSpaces.add(spaceKey(floors[i], spaceNumbers[i]));
+      }
+
+      // 주 서버에서 비어 있는 공간은 비움
+      ParkingLotSnapshot snapshot = parkingLot.getSnapshot();
+      for (int floor : snapshot.getFloorList()) {
+        for (ParkingSpaceSnapshot space : snapshot.getParkingSpacesByFloor(floor)) {
+          if (space.isOccupied() && !occupiedSpaces.contains(spaceKey(floor, space.getSpaceNumber()))) {
+            parkingLot.restoreSpace(floor, space.getSpaceNumber(), PlateCodec.EMPTY_KEY, 0L);
+          }
+        }
+      }
+
+      for (int i = 0; i < reservationCount; i++) {
+        long plateKey = ReplicationProtocol.toLocalKey(reservedPlateKeys[i], reservedPlates[i]);
+        parkingLot.restoreReservation(reservationIds[i], reservedFloors[i], reservedSpaceNumbers[i], plateKey,
+            reservedMillis[i], holdUntilMillis[i]);
+      }
+      appliedSequence = nextSequence;
+    }
+  }
+
+  // 이벤트 묶음 적용 (모두 읽은 뒤에 락을 잡고 적용)
+  private void applyEvents(DataInputStream in) throws IOException {
+    long firstSequence = in.readLong();
+    int count = in.readInt();
+    if (firstSequence != appliedSequence) {
+      throw new IOException("복제 이벤트 순번이 맞지 않습니다. (기대: " + appliedSequence + ", 수신: " + firstSequence + ")");
+    }
+
+    byte[] types = new byte[count];
+    int[] floors = new int[count];
+    int[] spaceNumbers = new int[count];
+    long[] times = new long[count];
+    long[] plateKeys = new long[count];
+    String[] plates = new String[count];
+    long[] reservationIds = new long[count];
+    long[] reservedMillis = new long[count];
+    for (int i = 0; i < count; i++) {
+      types[i] = in.readByte();
+      floors[i] = in.readInt();
+      spaceNumbers[i] = in.readInt();
+      times[i] = in.readLong();
+      if (types[i] == ReplicationProtocol.EVENT_PARK) {
+        plateKeys[i] = ReplicationProtocol.readPlateKey(in);
+        plates[i] = ReplicationProtocol.readPlateText(in, plateKeys[i]);
+      } else if (types[i] == ReplicationProtocol.EVENT_RESERVE) {
+        reservationIds[i] = in.readLong();
+        reservedMillis[i] = in.readLong();
+        plateKeys[i] = ReplicationProtocol.readPlateKey(in);
+        plates[i] = ReplicationProtocol.readPlateText(in, plateKeys[i]);
+      } else if (types[i] == ReplicationProtocol.EVENT_RELEASE) {
+        reservationIds[i] = in.readLong();
+      } else if (types[i] != ReplicationProtocol.EVENT_EXIT) {
+        throw new IOException("알 수 없는 복제 이벤트입니다: " + types[i]);
+      }
+    }
+
+    synchronized (parkingLot) {
+      if (!running) {
+        return; // 승격된 뒤에는 적용하지 않음
+      }
+      for (int i = 0; i < count; i++) {
+        if (types[i] == ReplicationProtocol.EVENT_PARK) {
+          long plateKey = ReplicationProtocol.toLocalKey(plateKeys[i], plates[i]);
+          if (!parkingLot.parkCar(floors[i], spaceNumbers[i], plateKey, times[i])) {
+            parkingLot.restoreSpace(floors[i], spaceNumbers[i], plateKey, times[i]);
+          }
+        } else if (types[i] == ReplicationProtocol.EVENT_EXIT) {
+          parkingLot.recordExit(floors[i], spaceNumbers[i], times[i]);
+        } else if (types[i] == ReplicationProtocol.EVENT_RESERVE) {
+          long plateKey = ReplicationProtocol.toLocalKey(plateKeys[i], plates[i]);
+          parkingLot.restoreReservation(reservationIds[i], floors[i], spaceNumbers[i], plateKey,
+              reservedMillis[i], times[i]);
+        } else {
+          parkingLot.cancelReservation(reservationIds[i]);
+        }
+      }
+      appliedSequence = firstSequence + count;
+    }
+  }
+
+  private static long spaceKey(int floor, int spaceNumber) {
+    return ((long) floor << 32) | spaceNumber;
+  }
+
+  public boolean isConnected() {
+    return connected;
+  }
+
+  // 적용을 마친 이벤트 수 (주 서버의 이벤트 순번 기준)
+  public long getAppliedSequence() {
+    return appliedSequence;
+  }
+
+  public String getPrimaryAddress() {
+    return host + ":" + port;
+  }
+
+  /**
+   * 복제를 중단합니다 (승격 시 호출).
+   * 수신 스레드가 끝날 때까지 기다리며, 주차장 락 안에서 중단 여부를 확인하므로 반환한 뒤에는 이벤트가 적용되지 않습니다.
+   */
+  public void stop() {
+    running = false;
+    Socket current = socket;
+    if (current != null) {
+      try {
+        current.close();
+      } catch (IOException e) {
+        // 이미 끊긴 연결
+      }
+    }
+    receiver.interrupt();
+    try {
+      receiver.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.emart.parking.replication;
+
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 주 서버의 입출차와 예약 이벤트를 순번과 함께 보관하는 고정 크기 순환 로그
+ *
+ * <p>
+ * 게이트 처리 중에 호출되는 추가 작업은 미리 할당된 배열에 값만 기록하므로 객체를 만들지 않고,
+ * 전송 스레드는 각자의 위치부터 이벤트를 묶어서 읽어 간다.
+ * 로그 크기보다 많이 뒤처진 대기 서버는 이벤트를 잃게 되므로 연결을 끊고 스냅샷부터 다시 받는다.
+ */
+final class ReplicationLog {
+  private final int mask;
+  private final byte[] types; // 이벤트 종류
+  private final int[] floors; // 층
+  private final int[] spaceNumbers; // 자리 번호
+  private final long[] times; // 입차 또는 출차 시각 (예약 이벤트면 만료 시각)
+  private final long[] plateKeys; // 차량 번호 키 (입차와 예약 이벤트)
+  private final String[] plates; // 사전 등록 번호판 원문 (표준 번호판이면 null)
+  private final long[] reservationIds; // 예약 번호 (예약과 예약 해제 이벤트)
+  private final long[] reservedTimes; // 예약 시각 (예약 이벤트)
+  private long nextSequence; // 다음 이벤트 순번
+  private int waiters; // 새 이벤트를 기다리는 전송 스레드 수
+
+  ReplicationLog(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.mask = size - 1;
+    this.types = new byte[size];
+    this.floors = new int[size];
+    this.spaceNumbers = new int[size];
+    this.times = new long[size];
+    this.plateKeys = new long[size];
+    this.plates = new String[size];
+    this.reservationIds = new long[size];
+    this.reservedTimes = new long[size];
+  }
+
+  // 입차 이벤트 추가
+  synchronized void appendPark(int floor, int spaceNumber, long plateKey, long parkingStartMillis) {
+    // 사전 등록 번호판의 원문은 사전에 있는 문자열을 그대로 참조
+    append(ReplicationProtocol.EVENT_PARK, floor, spaceNumber, parkingStartMillis, plateKey,
+        PlateCodec.isPacked(plateKey) ? null : PlateCodec.decode(plateKey));
+  }
+
+  // 출차 이벤트 추가
+  synchronized void appendExit(int floor, int spaceNumber, long exitMillis) {
+    append(ReplicationProtocol.EVENT_EXIT, floor, spaceNumber, exitMillis, PlateCodec.EMPTY_KEY, null);
+  }
+
+  // 예약 이벤트 추가
+  synchronized void appendReserve(long reservationId, int floor, int spaceNumber, long plateKey,
+      long reservedMillis, long holdUntilMillis) {
+    int slot = append(ReplicationProtocol.EVENT_RESERVE, floor, spaceNumber, holdUntilMillis, plateKey,
+        PlateCodec.isPacked(plateKey) ? null : PlateCodec.decode(plateKey));
+    reservationIds[slot] = reservationId;
+    reservedTimes[slot] = reservedMillis;
+  }
+
+  // 예약 해제 이벤트 추가 (예약 사용, 취소, 만료 모두 포함)
+  synchronized void appendRelease(long reservationId, int floor, int spaceNumber, long holdUntilMillis) {
+    int slot = append(ReplicationProtocol.EVENT_RELEASE, floor, spaceNumber, holdUntilMillis,
+        PlateCodec.EMPTY_KEY, null);
+    reservationIds[slot] = reservationId;
+  }
+
+  // 이벤트 기록 (기록한 칸 반환)
+  private int append(byte type, int floor, int spaceNumber, long time, long plateKey, String plate) {
+    int slot = (int) (nextSequence & mask);
+    types[slot] = type;
+    floors[slot] = floor;
+    spaceNumbers[slot] = spaceNumber;
+    times[slot] = time;
+    plateKeys[slot] = plateKey;
+    plates[slot] = plate;
+    reservationIds[slot] = 0L;
+    reservedTimes[slot] = 0L;
+    nextSequence++;
+    if (waiters > 0) {
+      notifyAll();
+    }
+    return slot;
+  }
+
+  synchronized long getNextSequence() {
+    return nextSequence;
+  }
+
+  // 아직 로그에 남아 있는 가장 오래된 순번
+  synchronized long getOldestSequence() {
+    return Math.max(0, nextSequence - types.length);
+  }
+
+  /**
+   * from 순번부터 최대 batch.capacity()개의 이벤트를 batch로 복사합니다.
+   * 새 이벤트가 없으면 최대 maxWaitMillis 동안 기다립니다.
+   *
+   * @return 복사한 이벤트 수 (이미 로그에서 밀려난 순번이면 -1)
+   */
+  synchronized int read(long from, EventBatch batch, long maxWaitMillis) throws InterruptedException {
+    if (from >= nextSequence && maxWaitMillis > 0) {
+      waiters++;
+      try {
+        wait(maxWaitMillis);
+      } finally {
+        waiters--;
+      }
+    }
+    if (from < getOldestSequence()) {
+      return -1;
+    }
+
+    int count = (int) Math.min(nextSequence - from, batch.capacity());
+    for (int i = 0; i < count; i++) {
+      int slot = (int) ((from + i) & mask);
+      batch.types[i] = types[slot];
+      batch.floors[i] = floors[slot];
+      batch.spaceNumbers[i] = spaceNumbers[slot];
+      batch.times[i] = times[slot];
+      batch.plateKeys[i] = plateKeys[slot];
+      batch.plates[i] = plates[slot];
+      batch.reservationIds[i] = reservationIds[slot];
+      batch.reservedTimes[i] = reservedTimes[slot];
+    }
+    batch.firstSequence = from;
+    batch.size = count;
+    return count;
+  }
+
+  /**
+   * 전송 스레드가 재사용하는 이벤트 묶음 버퍼
+   */
+  static final class EventBatch {
+    final byte[] types;
+    final int[] floors;
+    final int[] spaceNumbers;
+    final long[] times;
+    final long[] plateKeys;
+    final String[] plates;
+    final long[] reservationIds;
+    final long[] reservedTimes;
+    long firstSequence;
+    int size;
+
+    EventBatch(int capacity) {
+      this.types = new byte[capacity];
+      this.floors = new int[capacity];
+      this.spaceNumbers = new int[capacity];
+      this.times = new long[capacity];
+      this.plateKeys = new long[capacity];
+      this.plates = new String[capacity];
+      this.reservationIds = new long[capacity];
+      this.reservedTimes = new long[capacity];
+    }
+
+    int capacity() {
+      return types.length;
+    }
+  }
+}
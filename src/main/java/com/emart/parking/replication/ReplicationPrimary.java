@@ -0,0 +1,267 @@
+package com.emart.parking.replication;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.emart.parking.model.ParkingEventListener;
+import com.emart.parking.model.ParkingLot;
+import com.emart.parking.model.ParkingLotSnapshot;
+import com.emart.parking.model.ParkingSpace;
+import com.emart.parking.model.ParkingSpaceSnapshot;
+import com.emart.parking.model.Reservation;
+
+/**
+ * 주 서버 복제 담당
+ *
+ * <p>
+ * 입출차와 예약 이벤트를 순환 로그에 기록하고, 접속한 대기 서버마다 전송 스레드를 두어 이벤트를 묶어서 보낸다.
+ * 게이트 처리 스레드는 로그에 값을 기록하기만 하고 네트워크 전송을 기다리지 않는다(비동기 복제).
+ * 새로 접속한 대기 서버에는 먼저 현재 점유 현황과 예약 스냅샷을 보낸 뒤 그 이후의 이벤트를 보낸다.
+ * 예약도 같은 예약 번호로 복제되므로 승격된 대기 서버가 같은 공간을 계속 잡아 둔다.
+ */
+public class ReplicationPrimary implements ParkingEventListener {
+  // 이벤트 로그 크기 (이만큼 뒤처진 대기 서버는 스냅샷부터 다시 받음)
+  private static final int LOG_CAPACITY = 64 * 1024;
+  // 한 번에 보내는 최대 이벤트 수
+  private static final int BATCH_SIZE = 1024;
+  // 새 이벤트가 없을 때 전송 스레드가 기다리는 시간 (연결 확인 간격보다 짧게)
+  private static final long IDLE_WAIT_MILLIS = 500;
+  private static final int SOCKET_BUFFER_SIZE = 64 * 1024;
+
+  private final ParkingLot parkingLot;
+  private final ReplicationLog log;
+  private final ServerSocket serverSocket;
+  private final List<FollowerConnection> followers; // 접속 중인 대기 서버
+  private volatile boolean running;
+
+  /**
+   * 접속한 대기 서버 하나의 전송 상태
+   */
+  public static final class FollowerConnection {
+    private final Socket socket;
+    private volatile long sentSequence; // 다음에 보낼 이벤트 순번
+
+    private FollowerConnection(Socket socket) {
+      this.socket = socket;
+    }
+
+    public String getAddress() {
+      return socket.getRemoteSocketAddress().toString();
+    }
+
+    public long getSentSequence() {
+      return sentSequence;
+    }
+  }
+
+  /**
+   * 지정한 포트에서 대기 서버의 접속을 받기 시작합니다.
+   *
+   * @param parkingLot 복제할 주차장
+   * @param port       접속을 받을 포트 (0이면 임의의 빈 포트)
+   */
+  public ReplicationPrimary(ParkingLot parkingLot, int port) throws IOException {
+    this(parkingLot, port, LOG_CAPACITY);
+  }
+
+  // 이벤트 로그 크기 지정 (테스트에서 뒤처진 대기 서버 처리를 확인할 때 사용)
+  ReplicationPrimary(ParkingLot parkingLot, int port, int logCapacity) throws IOException {
+    this.parkingLot = parkingLot;
+    this.log = new ReplicationLog(logCapacity);
+    this.serverSocket = new ServerSocket(port);
+    this.followers = new CopyOnWriteArrayList<>();
+    this.running = true;
+
+    parkingLot.addEventListener(this);
+
+    Thread acceptor = new Thread(this::acceptFollowers, "replication-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  @Override
+  public void carParked(ParkingSpace space) {
+    log.appendPark(space.getFloor(), space.getSpaceNumber(), space.getPlateKey(), space.getParkingStartMillis());
+  }
+
+  @Override
+  public void carExited(ParkingSpace space, long exitMillis) {
+    log.appendExit(space.getFloor(), space.getSpaceNumber(), exitMillis);
+  }
+
+  @Override
+  public void spaceReserved(Reservation reservation) {
+    log.appendReserve(reservation.getId(), reservation.getFloor(), reservation.getSpaceNumber(),
+        reservation.getPlateKey(), reservation.getReservedMillis(), reservation.getHoldUntilMillis());
+  }
+
+  @Override
+  public void reservationReleased(Reservation reservation) {
+    log.appendRelease(reservation.getId(), reservation.getFloor(), reservation.getSpaceNumber(),
+        reservation.getHoldUntilMillis());
+  }
+
+  // 대기 서버 접속 대기
+  private void acceptFollowers() {
+    while (running) {
+      try {
+        Socket socket = serverSocket.accept();
+        Thread sender = new Thread(() -> serveFollower(socket), "replication-sender");
+        sender.setDaemon(true);
+        sender.start();
+      } catch (IOException e) {
+        if (running) {
+          System.err.println("복제 접속 처리 오류: " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  // 대기 서버 하나에 스냅샷과 이벤트 전송
+  private void serveFollower(Socket socket) {
+    FollowerConnection follower = new FollowerConnection(socket);
+    followers.add(follower);
+    try (Socket connection = socket;
+        DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(connection.getOutputStream(), SOCKET_BUFFER_SIZE))) {
+      connection.setTcpNoDelay(true);
+      follower.sentSequence = sendSnapshot(out);
+
+      ReplicationLog.EventBatch batch = new ReplicationLog.EventBatch(BATCH_SIZE);
+      long lastSentMillis = System.currentTimeMillis();
+      while (running) {
+        int count = log.read(follower.sentSequence, batch, IDLE_WAIT_MILLIS);
+        if (count < 0) {
+          System.err.println("대기 서버가 너무 뒤처져 연결을 끊습니다: " + follower.getAddress());
+          return;
+        }
+        long now = System.currentTimeMillis();
+        if (count > 0) {
+          writeBatch(out, batch);
+          out.flush();
+          follower.sentSequence += count;
+          lastSentMillis = now;
+        } else if (now - lastSentMillis >= ReplicationProtocol.HEARTBEAT_INTERVAL_MILLIS) {
+          // 이벤트가 없어도 연결이 살아 있음을 알림 (대기 서버는 읽기 제한 시간으로 끊긴 연결을 감지)
+          out.writeByte(ReplicationProtocol.MSG_HEARTBEAT);
+          out.flush();
+          lastSentMillis = now;
+        }
+      }
+    } catch (IOException e) {
+      if (running) {
+        System.err.println("대기 서버 연결 종료: " + e.getMessage());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      followers.remove(follower);
+    }
+  }
+
+  // 현재 점유 현황과 예약 전송 (스냅샷 이후의 이벤트 순번 반환)
+  private long sendSnapshot(DataOutputStream out) throws IOException {
+    ParkingLotSnapshot snapshot;
+    long nextSequence;
+    // 입출차 처리와 같은 락을 잡아 스냅샷과 로그 순번이 같은 시점을 가리키게 함
+    synchronized (parkingLot) {
+      snapshot = parkingLot.getSnapshot();
+      nextSequence = log.getNextSequence();
+    }
+
+    List<ParkingSpaceSnapshot> occupiedSpaces = new ArrayList<>();
+    List<Reservation> reservations = new ArrayList<>();
+    for (int floor : snapshot.getFloorList()) {
+      for (ParkingSpaceSnapshot space : snapshot.getParkingSpacesByFloor(floor)) {
+        if (space.isOccupied()) {
+          occupiedSpaces.add(space);
+        }
+        if (space.isReserved()) {
+          reservations.add(space.getReservation());
+        }
+      }
+    }
+
+    out.writeByte(ReplicationProtocol.MSG_SNAPSHOT);
+    out.writeLong(nextSequence);
+    out.writeInt(occupiedSpaces.size());
+    for (ParkingSpaceSnapshot space : occupiedSpaces) {
+      out.writeInt(space.getFloor());
+      out.writeInt(space.getSpaceNumber());
+      out.writeLong(space.getParkingStartMillis());
+      ReplicationProtocol.writePlate(out, space.getPlateKey(), space.getCarNumber());
+    }
+    out.writeInt(reservations.size());
+    for (Reservation reservation : reservations) {
+      out.writeLong(reservation.getId());
+      out.writeInt(reservation.getFloor());
+      out.writeInt(reservation.getSpaceNumber());
+      out.writeLong(reservation.getReservedMillis());
+      out.writeLong(reservation.getHoldUntilMillis());
+      ReplicationProtocol.writePlate(out, reservation.getPlateKey(), reservation.getCarNumber());
+    }
+    out.flush();
+    return nextSequence;
+  }
+
+  // 이벤트 묶음 전송
+  private static void writeBatch(DataOutputStream out, ReplicationLog.EventBatch batch) throws IOException {
+    out.writeByte(ReplicationProtocol.MSG_EVENTS);
+    out.writeLong(batch.firstSequence);
+    out.writeInt(batch.size);
+    for (int i = 0; i < batch.size; i++) {
+      out.writeByte(batch.types[i]);
+      out.writeInt(batch.floors[i]);
+      out.writeInt(batch.spaceNumbers[i]);
+      out.writeLong(batch.times[i]);
+      if (batch.types[i] == ReplicationProtocol.EVENT_PARK) {
+        ReplicationProtocol.writePlate(out, batch.plateKeys[i], batch.plates[i]);
+      } else if (batch.types[i] == ReplicationProtocol.EVENT_RESERVE) {
+        out.writeLong(batch.reservationIds[i]);
+        out.writeLong(batch.reservedTimes[i]);
+        ReplicationProtocol.writePlate(out, batch.plateKeys[i], batch.plates[i]);
+      } else if (batch.types[i] == ReplicationProtocol.EVENT_RELEASE) {
+        out.writeLong(batch.reservationIds[i]);
+      }
+    }
+  }
+
+  // 접속을 받는 포트
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  // 접속 중인 대기 서버 목록
+  public List<FollowerConnection> getFollowers() {
+    return new ArrayList<>(followers);
+  }
+
+  // 주 서버에서 발생한 이벤트 수
+  public long getEventCount() {
+    return log.getNextSequence();
+  }
+
+  // 복제 중단 (이벤트 기록을 멈추고 모든 연결 종료)
+  public void close() {
+    running = false;
+    parkingLot.removeEventListener(this);
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      System.err.println("복제 포트 닫기 오류: " + e.getMessage());
+    }
+    for (FollowerConnection follower : followers) {
+      try {
+        follower.socket.close();
+      } catch (IOException e) {
+        // 이미 끊긴 연결
+      }
+    }
+  }
+}
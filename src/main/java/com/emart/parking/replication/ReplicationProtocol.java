@@ -0,0 +1,63 @@
+package com.emart.parking.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 주 서버와 대기 서버 사이의 메시지 형식
+ *
+ * <pre>
+ * 현황 스냅샷: MSG_SNAPSHOT 다음 순번(long) 공간 수(int) [층(int) 자리(int) 입차 시각(long) 차량 번호]...
+ *             예약 수(int) [예약 번호(long) 층(int) 자리(int) 예약 시각(long) 만료 시각(long) 차량 번호]...
+ * 이벤트 묶음: MSG_EVENTS 첫 순번(long) 이벤트 수(int) [종류(byte) 층(int) 자리(int) 시각(long) 이벤트별 내용]...
+ *   입차: 차량 번호 (시각은 입차 시각)
+ *   출차: 없음 (시각은 출차 시각)
+ *   예약: 예약 번호(long) 예약 시각(long) 차량 번호 (시각은 만료 시각)
+ *   예약 해제: 예약 번호(long) (사용, 취소, 만료 모두 포함, 예약한 차량의 입차는 예약 해제 다음에 입차)
+ * 연결 확인: MSG_HEARTBEAT (보낼 이벤트가 없을 때 주기적으로 전송)
+ * 차량 번호: 키(long), 표준 번호판이 아니면 원문(UTF)을 덧붙임 (사전 등록 키는 서버마다 다르므로)
+ * </pre>
+ */
+final class ReplicationProtocol {
+  static final byte MSG_SNAPSHOT = 1;
+  static final byte MSG_EVENTS = 2;
+  static final byte MSG_HEARTBEAT = 3;
+
+  // 연결 확인 전송 간격과, 대기 서버가 아무 메시지도 받지 못하면 연결이 끊긴 것으로 보는 시간
+  static final long HEARTBEAT_INTERVAL_MILLIS = 1000;
+  static final int READ_TIMEOUT_MILLIS = 5000;
+
+  static final byte EVENT_PARK = 1;
+  static final byte EVENT_EXIT = 2;
+  static final byte EVENT_RESERVE = 3;
+  static final byte EVENT_RELEASE = 4;
+
+  private ReplicationProtocol() {
+  }
+
+  // 차량 번호 키 쓰기
+  static void writePlate(DataOutputStream out, long plateKey, String plate) throws IOException {
+    out.writeLong(plateKey);
+    if (!PlateCodec.isPacked(plateKey)) {
+      out.writeUTF(plate);
+    }
+  }
+
+  // 차량 번호 키 읽기 (보낸 쪽의 키 그대로, 표준 번호판이 아니면 readPlateText로 원문을 이어서 읽음)
+  static long readPlateKey(DataInputStream in) throws IOException {
+    return in.readLong();
+  }
+
+  // 표준 번호판이 아닌 차량 번호의 원문 읽기 (표준 번호판이면 null)
+  static String readPlateText(DataInputStream in, long plateKey) throws IOException {
+    return PlateCodec.isPacked(plateKey) ? null : in.readUTF();
+  }
+
+  // 받는 쪽의 차량 번호 키로 변환 (주차장 락 안에서 호출해 등록 직후 사전에서 정리되지 않게 함)
+  static long toLocalKey(long plateKey, String plate) {
+    return plate == null ? plateKey : PlateCodec.encode(plate);
+  }
+}
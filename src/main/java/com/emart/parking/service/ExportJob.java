@@ -0,0 +1,140 @@
+package com.emart.parking.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.emart.parking.util.CsvExporter;
+
+/**
+ * 백그라운드에서 실행되는 주차 기록 내보내기 작업
+ * 제출 시점의 기록 스냅샷을 기준으로 진행률, 처리 속도, 취소 기능을 제공한다.
+ */
+public class ExportJob implements CsvExporter.ExportProgress {
+
+  /**
+   * 내보내기 작업 상태
+   */
+  public enum Status {
+    RUNNING("진행 중"),
+    COMPLETED("완료"),
+    FAILED("실패"),
+    CANCELLED("취소됨");
+
+    private final String description;
+
+    Status(String description) {
+      this.description = description;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+  }
+
+  private final int id; // 작업 번호
+  private final String filePath; // 기준 파일 경로
+  private final long totalRows; // 내보낼 전체 행 수
+  private final AtomicLong writtenRows; // 지금까지 쓰인 행 수
+  private final List<String> outputFiles; // 생성된 파일 목록
+  private final long startNanos; // 작업 시작 시각
+  private volatile long endNanos; // 작업 종료 시각 (진행 중이면 0)
+  private final AtomicReference<Status> status; // RUNNING에서 한 번만 다른 상태로 바뀜
+
+  ExportJob(int id, String filePath, long totalRows) {
+    this.id = id;
+    this.filePath = filePath;
+    this.totalRows = totalRows;
+    this.writtenRows = new AtomicLong();
+    this.outputFiles = Collections.synchronizedList(new ArrayList<>());
+    this.startNanos = System.nanoTime();
+    this.status = new AtomicReference<>(Status.RUNNING);
+  }
+
+  @Override
+  public void rowsWritten(int count) {
+    writtenRows.addAndGet(count);
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return status.get() == Status.CANCELLED;
+  }
+
+  // 작업 취소 (이미 끝난 작업이면 false)
+  public boolean cancel() {
+    if (!status.compareAndSet(Status.RUNNING, Status.CANCELLED)) {
+      return false;
+    }
+    endNanos = System.nanoTime();
+    return true;
+  }
+
+  // 생성된 파일 등록
+  void addOutputFile(String outputFile) {
+    outputFiles.add(outputFile);
+  }
+
+  // 작업 종료 처리 (먼저 취소되었으면 취소 상태 유지), 최종 상태 반환
+  Status finish(boolean success) {
+    if (status.compareAndSet(Status.RUNNING, success ? Status.COMPLETED : Status.FAILED)) {
+      endNanos = System.nanoTime();
+    }
+    return status.get();
+  }
+
+  // 진행률 (0.0 ~ 100.0)
+  public double getProgressPercent() {
+    if (totalRows == 0) {
+      return status.get() == Status.RUNNING ? 0.0 : 100.0;
+    }
+    return Math.min(100.0, writtenRows.get() * 100.0 / totalRows);
+  }
+
+  // 초당 처리 행 수
+  public double getRowsPerSecond() {
+    long end = endNanos != 0 ? endNanos : System.nanoTime();
+    double elapsedSeconds = (end - startNanos) / 1_000_000_000.0;
+    return elapsedSeconds > 0 ? writtenRows.get() / elapsedSeconds : 0.0;
+  }
+
+  // Getter 메서드
+  public int getId() {
+    return id;
+  }
+
+  public String getFilePath() {
+    return filePath;
+  }
+
+  public long getTotalRows() {
+    return totalRows;
+  }
+
+  public long getWrittenRows() {
+    return writtenRows.get();
+  }
+
+  public List<String> getOutputFiles() {
+    synchronized (outputFiles) {
+      return new ArrayList<>(outputFiles);
+    }
+  }
+
+  public Status getStatus() {
+    return status.get();
+  }
+
+  public boolean isDone() {
+    return status.get() != Status.RUNNING;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("작업 #%d [%s] %s | 진행률: %.1f%% (%,d/%,d행) | 속도: %,.0f행/초",
+        id, status.get().getDescription(), filePath, getProgressPercent(),
+        writtenRows.get(), totalRows, getRowsPerSecond());
+  }
+}
@@ -0,0 +1,61 @@
+package com.emart.parking.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 주차 허용 시간을 넘긴 차량에 대한 알림
+ */
+public class OverstayAlert {
+  private final int floor; // 주차 층
+  private final int spaceNumber; // 주차 자리 번호
+  private final String carNumber; // 차량 번호
+  private final LocalDateTime parkingStartTime; // 입차 시간
+  private final LocalDateTime detectedTime; // 장기 주차 감지 시간
+
+  private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  public OverstayAlert(int floor, int spaceNumber, String carNumber,
+      LocalDateTime parkingStartTime, LocalDateTime detectedTime) {
+    this.floor = floor;
+    this.spaceNumber = spaceNumber;
+    this.carNumber = carNumber;
+    this.parkingStartTime = parkingStartTime;
+    this.detectedTime = detectedTime;
+  }
+
+  // 현재까지의 주차 시간
+  public Duration getParkedDuration() {
+    return Duration.between(parkingStartTime, LocalDateTime.now());
+  }
+
+  // Getter 메서드
+  public int getFloor() {
+    return floor;
+  }
+
+  public int getSpaceNumber() {
+    return spaceNumber;
+  }
+
+  public String getCarNumber() {
+    return carNumber;
+  }
+
+  public LocalDateTime getParkingStartTime() {
+    return parkingStartTime;
+  }
+
+  public LocalDateTime getDetectedTime() {
+    return detectedTime;
+  }
+
+  @Override
+  public String toString() {
+    Duration parked = getParkedDuration();
+    return String.format("차량번호: %s | 위치: %d층-%03d | 입차: %s | 주차시간: %d시간 %d분",
+        carNumber, floor, spaceNumber, parkingStartTime.format(formatter),
+        parked.toHours(), parked.toMinutesPart());
+  }
+}
@@ -0,0 +1,111 @@
+package com.emart.parking.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.emart.parking.model.ParkingEventListener;
+import com.emart.parking.model.ParkingSpace;
+import com.emart.parking.util.ExpiryTimer;
+import com.emart.parking.util.HierarchicalTimingWheel;
+
+/**
+ * 장기 주차 감시기
+ * 입차 시 허용 시간 뒤에 만료되는 타이머를 타이밍 휠에 등록하고 출차 시 취소하여,
+ * 주차 공간 전체를 주기적으로 훑지 않고도 허용 시간을 넘긴 차량을 찾아낸다.
+ */
+public class OverstayMonitor implements ParkingEventListener {
+  private final Duration overstayLimit; // 주차 허용 시간
+  private final ExpiryTimer<PendingOverstay> expiryTimer;
+  private final Map<ParkingSpace, HierarchicalTimingWheel.Timeout<PendingOverstay>> pendingTimers; // 감시 중인 주차 공간
+  private final Map<ParkingSpace, OverstayAlert> activeAlerts; // 허용 시간을 넘겨 주차 중인 차량
+  private final List<Consumer<OverstayAlert>> alertListeners;
+
+  // 타이밍 휠에 등록되는 감시 항목
+  private static final class PendingOverstay {
+    private final ParkingSpace space;
+    private final String carNumber;
+    private final LocalDateTime parkingStartTime;
+
+    private PendingOverstay(ParkingSpace space) {
+      this.space = space;
+      this.carNumber = space.getCarNumber();
+      this.parkingStartTime = space.getParkingStartTime();
+    }
+  }
+
+  public OverstayMonitor(Duration overstayLimit) {
+    this.overstayLimit = overstayLimit;
+    this.pendingTimers = new HashMap<>();
+    this.activeAlerts = new HashMap<>();
+    this.alertListeners = new CopyOnWriteArrayList<>();
+    this.expiryTimer = new ExpiryTimer<>("overstay-monitor", this::onTimerExpired);
+  }
+
+  @Override
+  public synchronized void carParked(ParkingSpace space) {
+    PendingOverstay pending = new PendingOverstay(space);
+    long deadlineMillis = space.getParkingStartMillis() + overstayLimit.toMillis();
+    pendingTimers.put(space, expiryTimer.schedule(pending, deadlineMillis));
+  }
+
+  @Override
+  public synchronized void carExited(ParkingSpace space, long exitMillis) {
+    HierarchicalTimingWheel.Timeout<PendingOverstay> timer = pendingTimers.remove(space);
+    if (timer != null) {
+      timer.cancel();
+    }
+    activeAlerts.remove(space);
+  }
+
+  // 장기 주차 알림 수신자 등록 (감시 스레드에서 호출됨)
+  public void addAlertListener(Consumer<OverstayAlert> listener) {
+    alertListeners.add(listener);
+  }
+
+  // 허용 시간을 넘겨 주차 중인 차량 목록 (입차 시간 순)
+  public synchronized List<OverstayAlert> getActiveAlerts() {
+    List<OverstayAlert> alerts = new ArrayList<>(activeAlerts.values());
+    alerts.sort(Comparator.comparing(OverstayAlert::getParkingStartTime));
+    return alerts;
+  }
+
+  // 감시 중인 차량 수
+  public int getMonitoredCount() {
+    return expiryTimer.size();
+  }
+
+  public Duration getOverstayLimit() {
+    return overstayLimit;
+  }
+
+  // 감시 종료
+  public void shutdown() {
+    expiryTimer.shutdown();
+  }
+
+  // 만료된 타이머 처리
+  private void onTimerExpired(PendingOverstay pending) {
+    OverstayAlert alert;
+    synchronized (this) {
+      HierarchicalTimingWheel.Timeout<PendingOverstay> timer = pendingTimers.get(pending.space);
+      if (timer == null || timer.getPayload() != pending) {
+        return; // 만료 직전에 출차된 차량
+      }
+      pendingTimers.remove(pending.space);
+      alert = new OverstayAlert(pending.space.getFloor(), pending.space.getSpaceNumber(), pending.carNumber,
+          pending.parkingStartTime, LocalDateTime.now());
+      activeAlerts.put(pending.space, alert);
+    }
+
+    for (Consumer<OverstayAlert> listener : alertListeners) {
+      listener.accept(alert);
+    }
+  }
+}
@@ -1,12 +1,28 @@
 package com.emart.parking.service;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import com.emart.parking.model.ParkingLot;
+import com.emart.parking.model.ParkingLotSnapshot;
 import com.emart.parking.model.ParkingRecord;
-import com.emart.parking.model.ParkingSpace;
+import com.emart.parking.model.ParkingSpaceSnapshot;
+import com.emart.parking.model.Reservation;
+import com.emart.parking.replication.ReplicationFollower;
+import com.emart.parking.replication.ReplicationPrimary;
+import com.emart.parking.storage.ParkingRecordSnapshot;
+import com.emart.parking.storage.RetentionPolicy;
 import com.emart.parking.util.CsvExporter;
 
 /**
@@ -15,30 +31,156 @@ import com.emart.parking.util.CsvExporter;
 public class ParkingService {
   private final ParkingLot parkingLot;
   private final CsvExporter csvExporter;
+  private final ExecutorService exportExecutor; // 내보내기 작업 실행용 스레드 풀
+  private final List<ExportJob> exportJobs; // 제출된 내보내기 작업 목록
+  private final AtomicInteger exportJobSequence;
+  private final OverstayMonitor overstayMonitor; // 장기 주차 감시기
+  private final ReservationManager reservationManager; // 주차 공간 예약 관리자
+  private ReplicationPrimary replicationPrimary; // 주 서버 복제 (주 서버로 동작할 때)
+  private ReplicationFollower replicationFollower; // 대기 서버 복제 (대기 서버로 동작할 때)
+  private volatile boolean readOnly; // 대기 서버는 승격 전까지 입출차를 처리하지 않음
+
+  // 목록에 남겨 두는 끝난 내보내기 작업 수 (오래된 작업부터 정리)
+  private static final int MAX_FINISHED_EXPORT_JOBS = 20;
+
+  // 내보내기 스레드 수 (날짜별 분할 시 병렬로 파일 작성)
+  private static final int EXPORT_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  // 기본 주차 허용 시간 (영업 종료 후 밤새 주차된 차량 감지)
+  public static final Duration DEFAULT_OVERSTAY_LIMIT = Duration.ofHours(12);
+
+  // 기본 예약 유지 시간
+  public static final Duration DEFAULT_RESERVATION_HOLD = Duration.ofMinutes(30);
+
+  // 최대 예약 유지 시간
+  public static final Duration MAX_RESERVATION_HOLD = ReservationManager.MAX_HOLD_TIME;
 
   public ParkingService() {
-    this.parkingLot = new ParkingLot();
-    this.csvExporter = new CsvExporter();
+    this(DEFAULT_OVERSTAY_LIMIT);
+  }
+
+  public ParkingService(Duration overstayLimit) {
+    this(overstayLimit, RetentionPolicy.defaultPolicy());
+  }
+
+  public ParkingService(Duration overstayLimit, RetentionPolicy retentionPolicy) {
+    this(overstayLimit, new ParkingLot(retentionPolicy), new CsvExporter());
+  }
+
+  // 주차장과 CSV 내보내기 도구 지정 (테스트에서 내보내기 진행 중 상태를 확인할 때 사용)
+  ParkingService(Duration overstayLimit, ParkingLot parkingLot, CsvExporter csvExporter) {
+    this.parkingLot = parkingLot;
+    this.csvExporter = csvExporter;
+    this.exportExecutor = Executors.newFixedThreadPool(EXPORT_THREADS, runnable -> {
+      Thread thread = new Thread(runnable, "csv-export");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.exportJobs = new ArrayList<>();
+    this.exportJobSequence = new AtomicInteger();
+    this.overstayMonitor = new OverstayMonitor(overstayLimit);
+    this.parkingLot.addEventListener(overstayMonitor);
+    this.reservationManager = new ReservationManager(parkingLot);
   }
 
   // 차량 입차 처리
   public boolean parkCar(int floor, int spaceNumber, String carNumber) {
+    if (readOnly) {
+      return false;
+    }
     return parkingLot.parkCar(floor, spaceNumber, carNumber);
   }
 
+  // 빈 공간 자동 배정 입차 처리 (예약한 차량은 예약 공간에 배정, 빈 공간이 없으면 null)
+  public ParkingSpaceSnapshot parkCarAtFreeSpace(String carNumber) {
+    if (readOnly) {
+      return null;
+    }
+    return parkingLot.parkCarAtFreeSpace(carNumber);
+  }
+
+  // 특정 주차 공간 예약 (예약할 수 없으면 null)
+  public Reservation reserveSpace(int floor, int spaceNumber, String carNumber, Duration holdTime) {
+    if (readOnly) {
+      return null;
+    }
+    return reservationManager.reserveSpace(floor, spaceNumber, carNumber, holdTime);
+  }
+
+  // 빈 공간을 골라 예약 (빈 공간이 없거나 예약할 수 없으면 null)
+  public Reservation reserveFreeSpace(String carNumber, Duration holdTime) {
+    if (readOnly) {
+      return null;
+    }
+    return reservationManager.reserveFreeSpace(carNumber, holdTime);
+  }
+
+  // 예약한 차량 입차 처리 (유효한 예약이 없으면 null)
+  public ParkingSpaceSnapshot claimReservation(String carNumber) {
+    if (readOnly) {
+      return null;
+    }
+    return reservationManager.claim(carNumber);
+  }
+
+  // 예약 취소
+  public boolean cancelReservation(long reservationId) {
+    if (readOnly) {
+      return false;
+    }
+    return reservationManager.cancel(reservationId);
+  }
+
+  // 유효한 예약 목록 조회 (만료 시각 순)
+  public List<Reservation> getReservations() {
+    return reservationManager.getReservations();
+  }
+
+  // 차량 번호로 유효한 예약 조회
+  public Reservation findReservationByCarNumber(String carNumber) {
+    return parkingLot.findReservationByCarNumber(carNumber);
+  }
+
   // 차량 출차 처리
   public ParkingRecord exitCar(int floor, int spaceNumber) {
+    if (readOnly) {
+      return null;
+    }
     return parkingLot.exitCar(floor, spaceNumber);
   }
 
+  // 차량 출차 처리 (출차 내역 없이 기록 순번만 반환, 출차할 차량이 없으면 -1)
+  // 영수증 출력이 필요 없는 게이트에서 사용하며, 내역은 getParkingRecord로 필요할 때 조회한다.
+  public long recordExit(int floor, int spaceNumber) {
+    if (readOnly) {
+      return -1;
+    }
+    return parkingLot.recordExit(floor, spaceNumber);
+  }
+
+  // 기록 순번으로 주차 기록 조회
+  public ParkingRecord getParkingRecord(long sequence) {
+    return parkingLot.getParkingRecord(sequence);
+  }
+
   // 특정 층의 주차 공간 목록 조회
-  public List<ParkingSpace> getParkingSpacesByFloor(int floor) {
+  public List<ParkingSpaceSnapshot> getParkingSpacesByFloor(int floor) {
     return parkingLot.getParkingSpacesByFloor(floor);
   }
 
   // 특정 주차 공간 조회
-  public ParkingSpace getParkingSpace(int floor, int spaceNumber) {
-    return parkingLot.getParkingSpace(floor, spaceNumber);
+  public ParkingSpaceSnapshot getParkingSpace(int floor, int spaceNumber) {
+    return parkingLot.getParkingSpaceSnapshot(floor, spaceNumber);
+  }
+
+  // 주차장 전체 점유 상태 스냅샷 조회 (여러 층을 같은 시점 기준으로 볼 때 사용)
+  public ParkingLotSnapshot getParkingLotSnapshot() {
+    return parkingLot.getSnapshot();
+  }
+
+  // 차량 번호로 주차 위치 조회
+  public ParkingSpaceSnapshot findParkingSpaceByCarNumber(String carNumber) {
+    return parkingLot.findParkingSpaceByCarNumber(carNumber);
   }
 
   // 층별 주차 현황 통계
@@ -61,14 +203,207 @@ public class ParkingService {
     return getDailyRevenue(LocalDate.now());
   }
 
-  // 주차 기록 조회
-  public List<ParkingRecord> getParkingRecords() {
-    return parkingLot.getParkingRecords();
+  // 최근 주차 기록 조회 (메모리 보관분)
+  public List<ParkingRecord> getRecentParkingRecords() {
+    return parkingLot.getRecentParkingRecords();
+  }
+
+  // 기간별 주차 기록 조회 (출차일 기준)
+  public List<ParkingRecord> getParkingRecords(LocalDate from, LocalDate to) {
+    return parkingLot.getParkingRecords(from, to);
+  }
+
+  // 전체 주차 기록 수 조회
+  public long getParkingRecordCount() {
+    return parkingLot.getParkingRecordCount();
+  }
+
+  // 최근 기록을 메모리에 보관하는 기간 조회
+  public int getHotRetentionDays() {
+    return parkingLot.getHotRetentionDays();
   }
 
   // 주차 기록을 CSV 파일로 내보내기
   public boolean exportParkingRecordsToCsv(String filePath) {
-    return csvExporter.exportParkingRecords(parkingLot.getParkingRecords(), filePath);
+    return csvExporter.exportParkingRecords(parkingLot.getParkingRecordSnapshot(), filePath);
+  }
+
+  // 주차 기록 내보내기를 백그라운드 작업으로 제출
+  // 제출 시점의 기록 스냅샷을 사용하므로 내보내는 동안에도 입출차 처리가 계속된다.
+  // 디스크 세그먼트에 있는 이전 기록은 파일을 쓰는 동안 차례로 읽는다.
+  // splitByDay가 true이면 출차 날짜별로 파일을 나누어 병렬로 작성한다.
+  public ExportJob submitExport(String filePath, boolean splitByDay) {
+    ParkingRecordSnapshot snapshot = parkingLot.getParkingRecordSnapshot();
+    ExportJob job = new ExportJob(exportJobSequence.incrementAndGet(), filePath, snapshot.size());
+    synchronized (exportJobs) {
+      pruneFinishedExportJobs();
+      exportJobs.add(job);
+    }
+
+    CompletableFuture<Boolean> result;
+    if (splitByDay) {
+      result = exportByDay(snapshot, filePath, job);
+    } else {
+      result = CompletableFuture.supplyAsync(() -> exportFile(snapshot, filePath, job), exportExecutor);
+    }
+
+    result.whenComplete((success, error) -> {
+      if (error != null) {
+        System.err.println("CSV 파일 내보내기 오류: " + error.getMessage());
+      }
+      // 종료 상태를 먼저 확정한 뒤 파일 정리 (확정 후에는 취소되지 않음)
+      if (job.finish(error == null && success) == ExportJob.Status.CANCELLED) {
+        // 취소된 작업은 이미 완성된 날짜별 파일도 남기지 않음
+        for (String outputFile : job.getOutputFiles()) {
+          new File(outputFile).delete();
+        }
+      }
+    });
+    return job;
+  }
+
+  // 출차 날짜별로 기록을 나누어 각 파일을 병렬로 작성
+  private CompletableFuture<Boolean> exportByDay(ParkingRecordSnapshot records, String filePath, ExportJob job) {
+    List<CompletableFuture<Boolean>> dailyResults = new ArrayList<>();
+    for (Map.Entry<LocalDate, Iterable<ParkingRecord>> entry : records.getRecordsByDay().entrySet()) {
+      String dailyFilePath = CsvExporter.getDailyFilePath(filePath, entry.getKey());
+      Iterable<ParkingRecord> dailyRecords = entry.getValue();
+      dailyResults.add(CompletableFuture.supplyAsync(() -> exportFile(dailyRecords, dailyFilePath, job), exportExecutor));
+    }
+
+    return CompletableFuture.allOf(dailyResults.toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> dailyResults.stream().allMatch(CompletableFuture::join));
+  }
+
+  // 단일 파일 작성 (취소된 작업이면 건너뜀)
+  private boolean exportFile(Iterable<ParkingRecord> records, String filePath, ExportJob job) {
+    if (job.isCancelled()) {
+      return false;
+    }
+    boolean success = csvExporter.exportParkingRecords(records, filePath, job);
+    if (success) {
+      job.addOutputFile(filePath);
+    }
+    return success;
+  }
+
+  // 끝난 작업이 보관 한도를 넘으면 오래된 것부터 목록에서 제거 (exportJobs 락을 잡은 상태에서 호출)
+  private void pruneFinishedExportJobs() {
+    int finished = 0;
+    for (ExportJob job : exportJobs) {
+      if (job.isDone()) {
+        finished++;
+      }
+    }
+    Iterator<ExportJob> iterator = exportJobs.iterator();
+    while (finished >= MAX_FINISHED_EXPORT_JOBS && iterator.hasNext()) {
+      if (iterator.next().isDone()) {
+        iterator.remove();
+        finished--;
+      }
+    }
+  }
+
+  // 제출된 내보내기 작업 목록 조회
+  public List<ExportJob> getExportJobs() {
+    synchronized (exportJobs) {
+      return new ArrayList<>(exportJobs);
+    }
+  }
+
+  // 특정 내보내기 작업 조회
+  public ExportJob getExportJob(int jobId) {
+    synchronized (exportJobs) {
+      for (ExportJob job : exportJobs) {
+        if (job.getId() == jobId) {
+          return job;
+        }
+      }
+    }
+    return null;
+  }
+
+  // 주 서버로 복제 시작 (대기 서버의 접속을 받아 입출차 이벤트를 비동기로 전송)
+  public synchronized ReplicationPrimary startReplicationPrimary(int port) throws IOException {
+    if (readOnly) {
+      throw new IllegalStateException("대기 서버는 승격 후에 주 서버로 동작할 수 있습니다.");
+    }
+    if (replicationPrimary == null) {
+      replicationPrimary = new ReplicationPrimary(parkingLot, port);
+    }
+    return replicationPrimary;
+  }
+
+  // 대기 서버로 복제 시작 (주 서버의 상태를 따라가며 조회만 처리)
+  public synchronized void followPrimary(String host, int port) {
+    if (replicationPrimary != null) {
+      throw new IllegalStateException("주 서버로 동작 중에는 대기 서버가 될 수 없습니다.");
+    }
+    if (replicationFollower != null) {
+      replicationFollower.stop();
+    }
+    readOnly = true;
+    replicationFollower = new ReplicationFollower(parkingLot, host, port);
+  }
+
+  // 대기 서버를 주 서버로 승격 (복제 수신이 완전히 멈춘 뒤 입출차 처리 시작)
+  public synchronized boolean promote() {
+    if (replicationFollower == null) {
+      return false;
+    }
+    replicationFollower.stop();
+    replicationFollower = null;
+    readOnly = false;
+    return true;
+  }
+
+  // 읽기 전용(대기 서버) 여부
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  // 주 서버 복제 상태 조회 (주 서버가 아니면 null)
+  public synchronized ReplicationPrimary getReplicationPrimary() {
+    return replicationPrimary;
+  }
+
+  // 대기 서버 복제 상태 조회 (대기 서버가 아니면 null)
+  public synchronized ReplicationFollower getReplicationFollower() {
+    return replicationFollower;
+  }
+
+  // 서비스 종료 (진행 중인 내보내기 작업은 취소하고 장기 주차 감시, 예약 만료 관리, 복제와 기록 저장소 중단)
+  public void shutdown() {
+    for (ExportJob job : getExportJobs()) {
+      job.cancel();
+    }
+    exportExecutor.shutdown();
+    overstayMonitor.shutdown();
+    reservationManager.shutdown();
+    synchronized (this) {
+      if (replicationPrimary != null) {
+        replicationPrimary.close();
+      }
+      if (replicationFollower != null) {
+        replicationFollower.stop();
+      }
+    }
+    parkingLot.close();
+  }
+
+  // 주차 허용 시간을 넘긴 차량 목록 조회
+  public List<OverstayAlert> getOverstayAlerts() {
+    return overstayMonitor.getActiveAlerts();
+  }
+
+  // 장기 주차 알림 수신자 등록
+  public void addOverstayListener(Consumer<OverstayAlert> listener) {
+    overstayMonitor.addAlertListener(listener);
+  }
+
+  // 주차 허용 시간 조회
+  public Duration getOverstayLimit() {
+    return overstayMonitor.getOverstayLimit();
   }
 
   // 주차장 층 목록 조회
@@ -0,0 +1,126 @@
+package com.emart.parking.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.emart.parking.model.ParkingEventListener;
+import com.emart.parking.model.ParkingLot;
+import com.emart.parking.model.ParkingSpace;
+import com.emart.parking.model.ParkingSpaceSnapshot;
+import com.emart.parking.model.Reservation;
+import com.emart.parking.util.ExpiryTimer;
+import com.emart.parking.util.HierarchicalTimingWheel;
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 주차 공간 예약 관리자
+ * 예약할 때 만료 시각에 맞춘 타이머를 타이밍 휠에 등록하여, 예약 전체를 주기적으로 훑지 않고도
+ * 만료된 예약만 해제한다. 예약 상태는 주차장이 락 안에서 관리하며, 타이머는 주차장의 예약 이벤트로
+ * 등록하고 취소한다. 따라서 자동 배정 입차, 다른 공간 입차, 만료된 예약 교체, 복제된 예약처럼
+ * 관리자를 거치지 않고 예약이 생기거나 사라져도 타이머가 남지 않는다.
+ */
+public class ReservationManager implements ParkingEventListener {
+  // 최대 예약 유지 시간
+  public static final Duration MAX_HOLD_TIME = Duration.ofDays(7);
+
+  private final ParkingLot parkingLot;
+  private final ExpiryTimer<Reservation> expiryTimer;
+  private final Map<Long, HierarchicalTimingWheel.Timeout<Reservation>> expiryTimers; // 예약 번호별 만료 타이머
+
+  public ReservationManager(ParkingLot parkingLot) {
+    this.parkingLot = parkingLot;
+    this.expiryTimers = new HashMap<>();
+    this.expiryTimer = new ExpiryTimer<>("reservation-expiry", this::onTimerExpired);
+    parkingLot.addEventListener(this);
+  }
+
+  // 특정 주차 공간 예약 (예약할 수 없거나 유지 시간이 범위를 벗어나면 null)
+  public Reservation reserveSpace(int floor, int spaceNumber, String carNumber, Duration holdTime) {
+    if (!isValidHoldTime(holdTime)) {
+      return null;
+    }
+    long holdUntilMillis = System.currentTimeMillis() + holdTime.toMillis();
+    return parkingLot.reserveSpace(floor, spaceNumber, PlateCodec.encode(carNumber), holdUntilMillis);
+  }
+
+  // 빈 공간을 골라 예약 (빈 공간이 없거나 예약할 수 없으면 null)
+  public Reservation reserveFreeSpace(String carNumber, Duration holdTime) {
+    if (!isValidHoldTime(holdTime)) {
+      return null;
+    }
+    long holdUntilMillis = System.currentTimeMillis() + holdTime.toMillis();
+    return parkingLot.reserveFreeSpace(PlateCodec.encode(carNumber), holdUntilMillis);
+  }
+
+  // 예약한 차량 입차 처리 (유효한 예약이 없으면 null, 예약 조회와 입차는 주차장 락 안에서 함께 처리됨)
+  public ParkingSpaceSnapshot claim(String carNumber) {
+    long plateKey = PlateCodec.find(carNumber);
+    if (plateKey == PlateCodec.EMPTY_KEY) {
+      return null; // 등록된 적 없는 번호판은 예약도 없음
+    }
+    return parkingLot.claimReservation(plateKey, System.currentTimeMillis());
+  }
+
+  // 예약 취소
+  public boolean cancel(long reservationId) {
+    return parkingLot.cancelReservation(reservationId);
+  }
+
+  // 유효한 예약 목록 (만료 시각 순)
+  public List<Reservation> getReservations() {
+    return parkingLot.getReservations();
+  }
+
+  // 만료 대기 중인 타이머 수
+  public int getPendingTimerCount() {
+    return expiryTimer.size();
+  }
+
+  // 만료 관리 종료
+  public void shutdown() {
+    parkingLot.removeEventListener(this);
+    expiryTimer.shutdown();
+  }
+
+  // 입출차는 예약 타이머와 관계없음 (예약한 차량의 입차는 예약 해제 이벤트로 전달됨)
+  @Override
+  public void carParked(ParkingSpace space) {
+  }
+
+  @Override
+  public void carExited(ParkingSpace space, long exitMillis) {
+  }
+
+  // 예약이 생기면 만료 타이머 등록 (주차장 락 안에서 호출되므로 해제 이벤트보다 항상 먼저 등록됨)
+  @Override
+  public void spaceReserved(Reservation reservation) {
+    synchronized (expiryTimers) {
+      expiryTimers.put(reservation.getId(), expiryTimer.schedule(reservation, reservation.getHoldUntilMillis()));
+    }
+  }
+
+  // 예약이 어떤 경로로든 사라지면 만료 타이머 취소 (O(1))
+  @Override
+  public void reservationReleased(Reservation reservation) {
+    HierarchicalTimingWheel.Timeout<Reservation> timer;
+    synchronized (expiryTimers) {
+      timer = expiryTimers.remove(reservation.getId());
+    }
+    if (timer != null) {
+      timer.cancel();
+    }
+  }
+
+  // 예약 유지 시간 범위 확인 (0보다 크고 최대 예약 유지 시간 이하, 밀리초 변환 전에 확인해 오버플로 방지)
+  private static boolean isValidHoldTime(Duration holdTime) {
+    return holdTime != null && !holdTime.isNegative() && !holdTime.isZero()
+        && holdTime.compareTo(MAX_HOLD_TIME) <= 0;
+  }
+
+  // 만료된 타이머 처리 (해제되면 reservationReleased에서 타이머 항목도 정리됨)
+  private void onTimerExpired(Reservation reservation) {
+    parkingLot.expireReservation(reservation.getId(), System.currentTimeMillis());
+  }
+}
@@ -0,0 +1,172 @@
+package com.emart.parking.storage;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.emart.parking.model.ParkingRecord;
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 주차 기록을 기본형 배열에 열 단위로 보관하는 순환 버퍼
+ *
+ * <p>
+ * 출차 시에는 미리 할당된 배열에 값만 기록하므로 객체를 만들지 않는다.
+ * ParkingRecord는 조회하는 쪽에서 요청할 때만 만들어진다.
+ * 기록에는 추가 순서대로 순번(sequence)이 매겨지며, 앞쪽 기록을 제거해도 순번은 바뀌지 않는다.
+ * 동기화는 호출하는 쪽에서 처리한다.
+ */
+public class ParkingRecordBuffer {
+  private final ZoneId zoneId;
+  private long[] plateKeys; // 차량 번호 키
+  private int[] floors; // 주차 층
+  private int[] spaceNumbers; // 주차 자리 번호
+  private long[] entryMillis; // 입차 시각 (epoch 밀리초)
+  private long[] exitMillis; // 출차 시각 (epoch 밀리초)
+  private int head; // 가장 오래된 기록의 배열 위치
+  private int size; // 보관 중인 기록 수
+  private long headSequence; // 가장 오래된 기록의 순번
+
+  public ParkingRecordBuffer(int initialCapacity, ZoneId zoneId) {
+    this.zoneId = zoneId;
+    allocate(Math.max(16, initialCapacity));
+  }
+
+  private void allocate(int capacity) {
+    plateKeys = new long[capacity];
+    floors = new int[capacity];
+    spaceNumbers = new int[capacity];
+    entryMillis = new long[capacity];
+    exitMillis = new long[capacity];
+  }
+
+  /**
+   * 기록을 추가합니다. 용량이 찬 경우에만 배열을 두 배로 늘립니다.
+   *
+   * @return 추가된 기록의 순번
+   */
+  public long add(long plateKey, int floor, int spaceNumber, long entry, long exit) {
+    PlateCodec.retain(plateKey);
+    if (size == plateKeys.length) {
+      grow();
+    }
+    int slot = slot(size);
+    plateKeys[slot] = plateKey;
+    floors[slot] = floor;
+    spaceNumbers[slot] = spaceNumber;
+    entryMillis[slot] = entry;
+    exitMillis[slot] = exit;
+    size++;
+    return headSequence + size - 1;
+  }
+
+  // 가장 오래된 기록 제거
+  public void removeFirst() {
+    if (size == 0) {
+      throw new IllegalStateException("제거할 기록이 없습니다.");
+    }
+    PlateCodec.release(plateKeys[head]);
+    head = slot(1);
+    size--;
+    headSequence++;
+  }
+
+  // 순번에 해당하는 기록의 ParkingRecord 생성 (버퍼에 없으면 null)
+  public ParkingRecord materialize(long sequence) {
+    if (sequence < headSequence || sequence >= headSequence + size) {
+      return null;
+    }
+    return get((int) (sequence - headSequence));
+  }
+
+  // index번째(0 = 가장 오래된) 기록의 ParkingRecord 생성
+  public ParkingRecord get(int index) {
+    int slot = slot(index);
+    return new ParkingRecord(plateKeys[slot], floors[slot], spaceNumbers[slot],
+        toLocalDateTime(entryMillis[slot]), toLocalDateTime(exitMillis[slot]));
+  }
+
+  /**
+   * from번째부터 count개의 기록을 기본형 배열로 복사합니다. 순환 구간은 최대 두 번의 배열 복사로 처리합니다.
+   *
+   * @param from  시작 위치 (0 = 가장 오래된 기록)
+   * @param count 복사할 기록 수
+   */
+  RecordColumns copy(int from, int count) {
+    long[] copiedPlateKeys = new long[count];
+    String[] copiedPlates = new String[count];
+    int[] copiedFloors = new int[count];
+    int[] copiedSpaceNumbers = new int[count];
+    long[] copiedEntryMillis = new long[count];
+    long[] copiedExitMillis = new long[count];
+
+    int start = slot(from);
+    int firstPart = Math.min(count, plateKeys.length - start);
+    int secondPart = count - firstPart;
+    copyPart(start, 0, firstPart, copiedPlateKeys, copiedFloors, copiedSpaceNumbers, copiedEntryMillis,
+        copiedExitMillis);
+    copyPart(0, firstPart, secondPart, copiedPlateKeys, copiedFloors, copiedSpaceNumbers, copiedEntryMillis,
+        copiedExitMillis);
+
+    // 사전 등록 번호판은 원문을 함께 복사 (표준 번호판은 문자열을 만들지 않음)
+    for (int i = 0; i < count; i++) {
+      if (!PlateCodec.isPacked(copiedPlateKeys[i])) {
+        copiedPlates[i] = PlateCodec.decode(copiedPlateKeys[i]);
+      }
+    }
+    return new RecordColumns(zoneId, copiedPlateKeys, copiedPlates, copiedFloors, copiedSpaceNumbers,
+        copiedEntryMillis, copiedExitMillis);
+  }
+
+  private void copyPart(int sourceSlot, int target, int length, long[] copiedPlateKeys, int[] copiedFloors,
+      int[] copiedSpaceNumbers, long[] copiedEntryMillis, long[] copiedExitMillis) {
+    System.arraycopy(plateKeys, sourceSlot, copiedPlateKeys, target, length);
+    System.arraycopy(floors, sourceSlot, copiedFloors, target, length);
+    System.arraycopy(spaceNumbers, sourceSlot, copiedSpaceNumbers, target, length);
+    System.arraycopy(entryMillis, sourceSlot, copiedEntryMillis, target, length);
+    System.arraycopy(exitMillis, sourceSlot, copiedExitMillis, target, length);
+  }
+
+  // index번째 기록의 출차 시각
+  public long getExitMillis(int index) {
+    return exitMillis[slot(index)];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zoneId);
+  }
+
+  private int slot(int index) {
+    int slot = head + index;
+    return slot < plateKeys.length ? slot : slot - plateKeys.length;
+  }
+
+  // 용량을 두 배로 늘리면서 기록을 배열 앞쪽부터 다시 배치
+  private void grow() {
+    long[] oldPlateKeys = plateKeys;
+    int[] oldFloors = floors;
+    int[] oldSpaceNumbers = spaceNumbers;
+    long[] oldEntryMillis = entryMillis;
+    long[] oldExitMillis = exitMillis;
+    int oldCapacity = oldPlateKeys.length;
+
+    allocate(oldCapacity * 2);
+    for (int i = 0; i < size; i++) {
+      int oldSlot = (head + i) % oldCapacity;
+      plateKeys[i] = oldPlateKeys[oldSlot];
+      floors[i] = oldFloors[oldSlot];
+      spaceNumbers[i] = oldSpaceNumbers[oldSlot];
+      entryMillis[i] = oldEntryMillis[oldSlot];
+      exitMillis[i] = oldExitMillis[oldSlot];
+    }
+    head = 0;
+  }
+}
@@ -0,0 +1,138 @@
+package com.emart.parking.storage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import com.emart.parking.model.ParkingRecord;
+
+/**
+ * 특정 시점의 주차 기록 전체(디스크 세그먼트 + 저장 대기 기록 + 메모리 기록)를 가리키는 읽기 전용 뷰
+ * 세그먼트는 순회할 때 필요한 것만 읽으므로 생성 비용은 메모리 기록 복사에 한정된다.
+ */
+public final class ParkingRecordSnapshot implements Iterable<ParkingRecord> {
+  private final List<RecordSegment> segments; // 디스크 세그먼트 (출차일 순)
+  private final List<LocalDate> pendingDates; // 세그먼트 저장 대기 기록의 출차일
+  private final List<RecordColumns> pendingRecords; // 세그먼트 저장 대기 기록 (출차 순)
+  private final List<ParkingRecord> hotRecords; // 메모리 기록 (출차 순)
+
+  ParkingRecordSnapshot(List<RecordSegment> segments, List<LocalDate> pendingDates,
+      List<RecordColumns> pendingRecords, List<ParkingRecord> hotRecords) {
+    this.segments = segments;
+    this.pendingDates = pendingDates;
+    this.pendingRecords = pendingRecords;
+    this.hotRecords = hotRecords;
+  }
+
+  // 전체 기록 수 (세그먼트는 헤더 정보만 사용)
+  public long size() {
+    long size = hotRecords.size();
+    for (RecordSegment segment : segments) {
+      size += segment.getRecordCount();
+    }
+    for (RecordColumns pending : pendingRecords) {
+      size += pending.size();
+    }
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  // 메모리에 있는 최근 기록 (수정 불가)
+  public List<ParkingRecord> getHotRecords() {
+    return Collections.unmodifiableList(hotRecords);
+  }
+
+  // 출차일이 기간에 포함되는 기록 목록 (기간 밖의 세그먼트는 읽지 않음)
+  public List<ParkingRecord> getRecords(LocalDate from, LocalDate to) {
+    List<ParkingRecord> records = new ArrayList<>();
+    for (RecordSegment segment : segments) {
+      if (!segment.getDate().isBefore(from) && !segment.getDate().isAfter(to)) {
+        for (ParkingRecord record : segment) {
+          records.add(record);
+        }
+      }
+    }
+    for (int i = 0; i < pendingRecords.size(); i++) {
+      LocalDate date = pendingDates.get(i);
+      if (!date.isBefore(from) && !date.isAfter(to)) {
+        for (ParkingRecord record : pendingRecords.get(i)) {
+          records.add(record);
+        }
+      }
+    }
+    for (ParkingRecord record : hotRecords) {
+      LocalDate date = record.getExitTime().toLocalDate();
+      if (!date.isBefore(from) && !date.isAfter(to)) {
+        records.add(record);
+      }
+    }
+    return records;
+  }
+
+  // 출차일별 기록 (세그먼트는 순회할 때 읽음)
+  public Map<LocalDate, Iterable<ParkingRecord>> getRecordsByDay() {
+    Map<LocalDate, List<Iterable<ParkingRecord>>> parts = new TreeMap<>();
+    for (RecordSegment segment : segments) {
+      parts.computeIfAbsent(segment.getDate(), date -> new ArrayList<>()).add(segment);
+    }
+    for (int i = 0; i < pendingRecords.size(); i++) {
+      parts.computeIfAbsent(pendingDates.get(i), date -> new ArrayList<>()).add(pendingRecords.get(i));
+    }
+
+    Map<LocalDate, List<ParkingRecord>> hotByDay = new TreeMap<>();
+    for (ParkingRecord record : hotRecords) {
+      hotByDay.computeIfAbsent(record.getExitTime().toLocalDate(), date -> new ArrayList<>()).add(record);
+    }
+    for (Map.Entry<LocalDate, List<ParkingRecord>> entry : hotByDay.entrySet()) {
+      parts.computeIfAbsent(entry.getKey(), date -> new ArrayList<>()).add(entry.getValue());
+    }
+
+    Map<LocalDate, Iterable<ParkingRecord>> recordsByDay = new TreeMap<>();
+    for (Map.Entry<LocalDate, List<Iterable<ParkingRecord>>> entry : parts.entrySet()) {
+      List<Iterable<ParkingRecord>> dayParts = entry.getValue();
+      recordsByDay.put(entry.getKey(), () -> concat(dayParts));
+    }
+    return recordsByDay;
+  }
+
+  // 세그먼트부터 메모리 기록까지 출차 순으로 순회
+  @Override
+  public Iterator<ParkingRecord> iterator() {
+    List<Iterable<ParkingRecord>> parts = new ArrayList<>(segments);
+    parts.addAll(pendingRecords);
+    parts.add(hotRecords);
+    return concat(parts);
+  }
+
+  // 여러 기록 묶음을 차례로 순회하는 반복자 (다음 묶음은 필요할 때 열림)
+  private static Iterator<ParkingRecord> concat(List<Iterable<ParkingRecord>> parts) {
+    return new Iterator<ParkingRecord>() {
+      private int partIndex = 0;
+      private Iterator<ParkingRecord> current = Collections.emptyIterator();
+
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext() && partIndex < parts.size()) {
+          current = parts.get(partIndex++).iterator();
+        }
+        return current.hasNext();
+      }
+
+      @Override
+      public ParkingRecord next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current.next();
+      }
+    };
+  }
+}
@@ -0,0 +1,345 @@
+package com.emart.parking.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.emart.parking.model.ParkingRecord;
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 보존 정책에 따라 주차 기록을 메모리와 디스크에 나누어 보관하는 저장소
+ *
+ * <p>
+ * 최근 기록은 메모리(hot)에 두고, 보존 기간이 지난 기록은 출차일별 세그먼트 파일(cold)로 옮긴다.
+ * 메모리에는 세그먼트마다 경로와 헤더 정보만 남으므로 운영 기간이 길어져도 힙 사용량은 일정하다.
+ * 메모리 기록은 기본형 배열 버퍼에 보관하므로 기록 추가 시 객체를 만들지 않는다.
+ *
+ * <p>
+ * 세그먼트 파일 쓰기는 게이트 스레드가 아닌 별도의 세그먼트 이동 스레드에서 처리한다.
+ * 보존 기간이 지난 기록은 먼저 버퍼에서 출차일별 묶음으로 떼어 내어(pending) 메모리에서 계속 조회되게 하고,
+ * 세그먼트 파일이 게시된 뒤에 묶음을 버린다. 저장에 실패한 묶음은 메모리에 남겨 두고 잠시 뒤 다시 시도한다.
+ *
+ * <p>
+ * 종료할 때는 메모리 기록도 모두 세그먼트 파일로 저장하고, 다음 실행에서 보존 기간 안의 세그먼트를
+ * 다시 메모리 기록으로 읽어 들인다. 읽어 들인 파일은 그 날짜의 기록이 새 세그먼트로 저장된 뒤에 지운다.
+ */
+public class ParkingRecordStore {
+  private final RetentionPolicy policy; // 보존 정책
+  private final List<RecordSegment> segments; // 디스크 세그먼트 (출차일 순)
+  private final ParkingRecordBuffer hotRecords; // 메모리 기록 (출차 순)
+  private final List<PendingDay> pendingDays; // 세그먼트 저장을 기다리는 기록 (출차 순)
+  private final Map<LocalDate, List<Path>> reloadedFiles; // 메모리 기록으로 다시 읽어 들인 세그먼트 파일 (출차일별)
+  private final ScheduledThreadPoolExecutor roller; // 세그먼트 이동 스레드
+  private final Object writeLock = new Object(); // 세그먼트 파일 쓰기를 한 번에 하나씩 처리
+  private boolean retryScheduled; // 저장 실패 후 재시도 예약 여부
+  private final TimeZone timeZone; // 출차일 계산용 (매번 조회하면 복사본이 생성됨)
+  private long lastRollDay = Long.MIN_VALUE; // 마지막으로 세그먼트 이동을 확인한 날짜 (epoch day)
+
+  // 메모리 기록 버퍼의 초기 용량
+  private static final int INITIAL_HOT_CAPACITY = 16 * 1024;
+  private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+  // 세그먼트 저장 실패 시 재시도 간격
+  private static final long RETRY_DELAY_MILLIS = 60 * 1000;
+
+  // 세그먼트 저장을 기다리는 하루치 기록
+  private static final class PendingDay {
+    private final LocalDate date; // 출차일
+    private final RecordColumns records;
+
+    private PendingDay(LocalDate date, RecordColumns records) {
+      this.date = date;
+      this.records = records;
+    }
+  }
+
+  public ParkingRecordStore(RetentionPolicy policy) {
+    this.policy = policy;
+    this.segments = new ArrayList<>();
+    this.timeZone = TimeZone.getDefault();
+    this.hotRecords = new ParkingRecordBuffer(INITIAL_HOT_CAPACITY, ZoneId.systemDefault());
+    this.pendingDays = new ArrayList<>();
+    this.reloadedFiles = new HashMap<>();
+    this.roller = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "segment-roller");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // 종료 시 예약된 재시도는 버림 (저장하지 못한 기록은 메모리에만 남음)
+    this.roller.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    loadSegments();
+  }
+
+  // 기존 세그먼트 파일의 헤더 읽기 (보존 기간 안의 세그먼트는 메모리 기록으로 다시 읽음)
+  private void loadSegments() {
+    Path directory = policy.getSegmentDirectory();
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      files.filter(RecordSegment::isSegmentFile).sorted().forEach(path -> {
+        try {
+          segments.add(RecordSegment.open(path));
+        } catch (IOException e) {
+          System.err.println("세그먼트 파일 읽기 오류: " + e.getMessage());
+        }
+      });
+    } catch (IOException e) {
+      System.err.println("세그먼트 디렉터리 읽기 오류: " + e.getMessage());
+    }
+    segments.sort(Comparator.comparing(RecordSegment::getDate));
+
+    // 보존 기간 안의 세그먼트는 모두 목록 끝쪽에 있음
+    LocalDate cutoff = LocalDate.now().minusDays(policy.getHotDays() - 1);
+    int first = segments.size();
+    while (first > 0 && !segments.get(first - 1).getDate().isBefore(cutoff)) {
+      first--;
+    }
+    List<RecordSegment> recent = new ArrayList<>(segments.subList(first, segments.size()));
+    segments.subList(first, segments.size()).clear();
+    for (RecordSegment segment : recent) {
+      reloadSegment(segment);
+    }
+  }
+
+  // 세그먼트의 기록을 메모리 기록 끝에 추가 (실패하면 디스크 세그먼트로 둠)
+  private void reloadSegment(RecordSegment segment) {
+    List<ParkingRecord> records = new ArrayList<>(segment.getRecordCount());
+    try {
+      for (ParkingRecord record : segment) {
+        records.add(record);
+      }
+    } catch (RuntimeException e) {
+      System.err.println("세그먼트 파일 읽기 오류: " + e.getMessage());
+      segments.add(segment);
+      return;
+    }
+
+    ZoneId zoneId = timeZone.toZoneId();
+    for (ParkingRecord record : records) {
+      // 사전 등록 번호판은 세그먼트에 원문만 있으므로 다시 등록
+      long plateKey = PlateCodec.isPacked(record.getPlateKey())
+          ? record.getPlateKey()
+          : PlateCodec.encode(record.getCarNumber());
+      hotRecords.add(plateKey, record.getFloor(), record.getSpaceNumber(),
+          record.getEntryTime().atZone(zoneId).toInstant().toEpochMilli(),
+          record.getExitTime().atZone(zoneId).toInstant().toEpochMilli());
+    }
+    reloadedFiles.computeIfAbsent(segment.getDate(), date -> new ArrayList<>()).add(segment.getPath());
+  }
+
+  /**
+   * 주차 기록을 추가합니다. 날짜가 바뀌었으면 세그먼트 이동 스레드에 이동을 요청하고 바로 돌아갑니다.
+   *
+   * @return 추가된 기록의 순번 (getRecord로 조회)
+   */
+  public synchronized long add(long plateKey, int floor, int spaceNumber, long entryMillis, long exitMillis) {
+    long sequence = hotRecords.add(plateKey, floor, spaceNumber, entryMillis, exitMillis);
+
+    long today = toEpochDay(exitMillis);
+    if (today != lastRollDay) {
+      lastRollDay = today;
+      LocalDate date = LocalDate.ofEpochDay(today);
+      submit(() -> roll(date), 0);
+    }
+    return sequence;
+  }
+
+  // 순번에 해당하는 기록 조회 (이미 세그먼트로 옮겨졌으면 null)
+  public synchronized ParkingRecord getRecord(long sequence) {
+    return hotRecords.materialize(sequence);
+  }
+
+  /**
+   * 보존 기간이 지난 메모리 기록을 출차일별 세그먼트 파일로 옮깁니다.
+   * 저장소 락은 기록을 떼어 낼 때와 세그먼트를 게시할 때만 잡고, 파일 쓰기는 락 밖에서 합니다.
+   *
+   * @param today 기준 날짜
+   */
+  public void roll(LocalDate today) {
+    detachExpired(today);
+    writePendingDays();
+  }
+
+  // 기준일 이전 기록을 출차일별 묶음으로 떼어 내어 저장 대기 목록으로 옮김
+  private void detachExpired(LocalDate today) {
+    detachBefore(today.minusDays(policy.getHotDays() - 1).toEpochDay());
+  }
+
+  // 출차일이 cutoffDay 이전인 기록을 출차일별 묶음으로 떼어 냄
+  private synchronized void detachBefore(long cutoffDay) {
+
+    // 기준일 이전 기록은 버퍼 앞쪽에 출차 순으로 모여 있음 (같은 날짜끼리 연속)
+    int expiredCount = 0;
+    while (expiredCount < hotRecords.size()) {
+      long day = toEpochDay(hotRecords.getExitMillis(expiredCount));
+      if (day >= cutoffDay) {
+        break;
+      }
+      int dayStart = expiredCount;
+      while (expiredCount < hotRecords.size() && toEpochDay(hotRecords.getExitMillis(expiredCount)) == day) {
+        expiredCount++;
+      }
+      pendingDays.add(new PendingDay(LocalDate.ofEpochDay(day), hotRecords.copy(dayStart, expiredCount - dayStart)));
+    }
+
+    for (int i = 0; i < expiredCount; i++) {
+      hotRecords.removeFirst();
+    }
+  }
+
+  // 저장 대기 중인 묶음을 앞쪽부터 세그먼트 파일로 저장하고 게시
+  private void writePendingDays() {
+    synchronized (writeLock) {
+      while (true) {
+        PendingDay pending;
+        synchronized (this) {
+          if (pendingDays.isEmpty()) {
+            return;
+          }
+          pending = pendingDays.get(0);
+        }
+
+        List<ParkingRecord> records = new ArrayList<>(pending.records.size());
+        for (ParkingRecord record : pending.records) {
+          records.add(record);
+        }
+
+        RecordSegment segment;
+        try {
+          segment = RecordSegment.write(policy.getSegmentDirectory(), pending.date, records);
+        } catch (IOException e) {
+          System.err.println("세그먼트 파일 저장 오류 (" + pending.date + "): " + e.getMessage());
+          scheduleRetry();
+          return;
+        }
+
+        List<Path> replaced;
+        synchronized (this) {
+          segments.add(segment);
+          segments.sort(Comparator.comparing(RecordSegment::getDate));
+          pendingDays.remove(pending);
+          replaced = reloadedFiles.remove(pending.date);
+        }
+        // 다시 읽어 들였던 같은 날짜의 파일은 새 세그먼트에 모두 담겼으므로 삭제 (삭제 전에 멈추면 다음 실행에서 중복될 수 있음)
+        if (replaced != null) {
+          for (Path path : replaced) {
+            try {
+              Files.deleteIfExists(path);
+            } catch (IOException e) {
+              System.err.println("세그먼트 파일 삭제 오류: " + e.getMessage());
+            }
+          }
+        }
+      }
+    }
+  }
+
+  // 저장에 실패한 묶음을 잠시 뒤 다시 저장
+  private synchronized void scheduleRetry() {
+    if (!retryScheduled) {
+      retryScheduled = true;
+      submit(() -> {
+        synchronized (this) {
+          retryScheduled = false;
+        }
+        writePendingDays();
+      }, RETRY_DELAY_MILLIS);
+    }
+  }
+
+  // 세그먼트 이동 스레드에 작업 제출 (종료된 뒤에는 무시)
+  private void submit(Runnable task, long delayMillis) {
+    try {
+      roller.schedule(() -> {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          System.err.println("세그먼트 이동 오류: " + e.getMessage());
+        }
+      }, delayMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // 종료 중
+    }
+  }
+
+  /**
+   * 세그먼트 이동 스레드를 종료하고, 메모리 기록과 저장 대기 기록을 모두 세그먼트 파일로 저장합니다.
+   * 진행 중인 파일 쓰기는 마칠 때까지 기다립니다. 저장에 실패한 기록은 오류를 출력하고 버립니다.
+   */
+  public void close() {
+    roller.shutdown();
+    try {
+      roller.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    detachBefore(Long.MAX_VALUE);
+    writePendingDays();
+  }
+
+  // epoch 밀리초를 현지 기준 epoch day로 변환 (객체 생성 없음)
+  public long toEpochDay(long epochMillis) {
+    return Math.floorDiv(epochMillis + timeZone.getOffset(epochMillis), MILLIS_PER_DAY);
+  }
+
+  // 현재 시점의 기록 뷰 (락 안에서는 메모리 기록의 기본형 열만 복사하고 ParkingRecord는 읽을 때 만듦)
+  public synchronized ParkingRecordSnapshot snapshot() {
+    RecordColumns hot = hotRecords.copy(0, hotRecords.size());
+    List<LocalDate> pendingDates = new ArrayList<>(pendingDays.size());
+    List<RecordColumns> pendingRecords = new ArrayList<>(pendingDays.size());
+    for (PendingDay pending : pendingDays) {
+      pendingDates.add(pending.date);
+      pendingRecords.add(pending.records);
+    }
+    return new ParkingRecordSnapshot(new ArrayList<>(segments), pendingDates, pendingRecords, hot);
+  }
+
+  // 전체 기록 수 (세그먼트는 헤더 정보만 사용하고 기록을 복사하지 않음)
+  public synchronized long size() {
+    long size = hotRecords.size();
+    for (RecordSegment segment : segments) {
+      size += segment.getRecordCount();
+    }
+    for (PendingDay pending : pendingDays) {
+      size += pending.records.size();
+    }
+    return size;
+  }
+
+  // 메모리에 있는 기록 수
+  public synchronized int getHotRecordCount() {
+    return hotRecords.size();
+  }
+
+  // 디스크 세그먼트 수
+  public synchronized int getSegmentCount() {
+    return segments.size();
+  }
+
+  // 세그먼트 저장을 기다리는 기록 수
+  public synchronized int getPendingRecordCount() {
+    int count = 0;
+    for (PendingDay pending : pendingDays) {
+      count += pending.records.size();
+    }
+    return count;
+  }
+
+  public RetentionPolicy getPolicy() {
+    return policy;
+  }
+}
@@ -0,0 +1,58 @@
+package com.emart.parking.storage;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import com.emart.parking.model.ParkingRecord;
+
+/**
+ * 메모리 기록 버퍼에서 복사한 기록 묶음 (변경 불가)
+ *
+ * <p>
+ * 버퍼의 락 안에서는 기본형 열만 배열 복사하고, ParkingRecord는 락 밖에서 순회하거나 조회할 때마다 만든다.
+ * 사전 등록 번호판은 복사 시점의 원문을 함께 보관하므로 번호판 사전이 정리되어도 읽을 수 있다.
+ */
+final class RecordColumns extends AbstractList<ParkingRecord> implements RandomAccess {
+  private final ZoneId zoneId;
+  private final long[] plateKeys; // 차량 번호 키
+  private final String[] plates; // 사전 등록 번호판 원문 (표준 번호판이면 null)
+  private final int[] floors; // 주차 층
+  private final int[] spaceNumbers; // 주차 자리 번호
+  private final long[] entryMillis; // 입차 시각 (epoch 밀리초)
+  private final long[] exitMillis; // 출차 시각 (epoch 밀리초)
+
+  RecordColumns(ZoneId zoneId, long[] plateKeys, String[] plates, int[] floors, int[] spaceNumbers,
+      long[] entryMillis, long[] exitMillis) {
+    this.zoneId = zoneId;
+    this.plateKeys = plateKeys;
+    this.plates = plates;
+    this.floors = floors;
+    this.spaceNumbers = spaceNumbers;
+    this.entryMillis = entryMillis;
+    this.exitMillis = exitMillis;
+  }
+
+  @Override
+  public int size() {
+    return plateKeys.length;
+  }
+
+  // index번째 기록의 ParkingRecord 생성
+  @Override
+  public ParkingRecord get(int index) {
+    return new ParkingRecord(plateKeys[index], plates[index], floors[index], spaceNumbers[index],
+        toLocalDateTime(entryMillis[index]), toLocalDateTime(exitMillis[index]));
+  }
+
+  // index번째 기록의 출차 시각
+  long getExitMillis(int index) {
+    return exitMillis[index];
+  }
+
+  private LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zoneId);
+  }
+}
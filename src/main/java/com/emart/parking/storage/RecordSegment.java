@@ -0,0 +1,237 @@
+package com.emart.parking.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.emart.parking.model.ParkingRecord;
+import com.emart.parking.util.PlateCodec;
+
+/**
+ * 하루치 주차 기록을 담은 변경 불가능한 세그먼트 파일
+ *
+ * <p>
+ * 메모리에는 파일 경로와 헤더 정보만 두고, 기록을 읽을 때 파일을 메모리 매핑하여 한 건씩 복원한다.
+ *
+ * <pre>
+ * 파일 구성
+ *   헤더: MAGIC(int) VERSION(int) 출차일(long, epoch day) 기록 수(int) 문자열 수(int)
+ *   기록: 차량 번호 키(long) 층(int) 자리(int) 입차(long 초 + int 나노초) 출차(long 초 + int 나노초)
+ *   문자열: 길이(int) UTF-8 바이트 - 사전 등록 번호판의 원문
+ * </pre>
+ *
+ * 사전 등록 번호판의 키는 실행마다 달라질 수 있으므로, 파일에는 세그먼트 내 문자열 번호를 기록한다.
+ * 읽을 때는 원문을 그대로 기록에 담고 번호판 사전에는 등록하지 않는다.
+ */
+public final class RecordSegment implements Iterable<ParkingRecord> {
+  private static final int MAGIC = 0x504B5347; // "PKSG"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+  private static final int ROW_SIZE = 8 + 4 + 4 + 12 + 12;
+  // 세그먼트 내 문자열 번호를 나타내는 키 표시 (PlateCodec 키와 겹치지 않는 최상위 비트)
+  private static final long STRING_REF_FLAG = 1L << 63;
+
+  static final String FILE_PREFIX = "records-";
+  static final String FILE_SUFFIX = ".seg";
+
+  private final Path path; // 세그먼트 파일 경로
+  private final LocalDate date; // 기록의 출차일
+  private final int recordCount; // 기록 수
+
+  private RecordSegment(Path path, LocalDate date, int recordCount) {
+    this.path = path;
+    this.date = date;
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * 같은 출차일의 기록을 새 세그먼트 파일로 저장합니다.
+   * 임시 파일에 모두 쓴 뒤 이름을 바꾸므로 중간에 실패해도 불완전한 세그먼트가 남지 않습니다.
+   *
+   * @param directory 세그먼트 디렉터리
+   * @param date      출차일
+   * @param records   저장할 기록 목록
+   * @return 저장된 세그먼트
+   */
+  public static RecordSegment write(Path directory, LocalDate date, List<ParkingRecord> records) throws IOException {
+    Files.createDirectories(directory);
+
+    // 사전 등록 번호판은 세그먼트 내 문자열 표로 옮김
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    ByteBuffer rows = ByteBuffer.allocate(records.size() * ROW_SIZE);
+    for (ParkingRecord record : records) {
+      long plateKey = record.getPlateKey();
+      if (!PlateCodec.isPacked(plateKey)) {
+        Integer index = strings.computeIfAbsent(record.getCarNumber(), plate -> strings.size());
+        plateKey = STRING_REF_FLAG | index;
+      }
+      rows.putLong(plateKey);
+      rows.putInt(record.getFloor());
+      rows.putInt(record.getSpaceNumber());
+      putTime(rows, record.getEntryTime());
+      putTime(rows, record.getExitTime());
+    }
+    rows.flip();
+
+    List<byte[]> encodedStrings = new ArrayList<>();
+    int stringBytes = 0;
+    for (String plate : strings.keySet()) {
+      byte[] bytes = plate.getBytes(StandardCharsets.UTF_8);
+      encodedStrings.add(bytes);
+      stringBytes += 4 + bytes.length;
+    }
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putInt(VERSION).putLong(date.toEpochDay())
+        .putInt(records.size()).putInt(encodedStrings.size());
+    header.flip();
+
+    ByteBuffer trailer = ByteBuffer.allocate(stringBytes);
+    for (byte[] bytes : encodedStrings) {
+      trailer.putInt(bytes.length).put(bytes);
+    }
+    trailer.flip();
+
+    Path target = nextSegmentPath(directory, date);
+    Path temp = directory.resolve(target.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer[] buffers = { header, rows, trailer };
+      while (header.hasRemaining() || rows.hasRemaining() || trailer.hasRemaining()) {
+        channel.write(buffers);
+      }
+      channel.force(true);
+    }
+    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+    return new RecordSegment(target, date, records.size());
+  }
+
+  /**
+   * 기존 세그먼트 파일의 헤더만 읽어 엽니다.
+   *
+   * @param path 세그먼트 파일 경로
+   * @return 세그먼트
+   */
+  public static RecordSegment open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        // 헤더를 모두 읽을 때까지 반복
+      }
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+        throw new IOException("올바른 세그먼트 파일이 아닙니다: " + path);
+      }
+      LocalDate date = LocalDate.ofEpochDay(header.getLong());
+      int recordCount = header.getInt();
+      return new RecordSegment(path, date, recordCount);
+    }
+  }
+
+  // 세그먼트 파일 여부 (파일 이름 기준)
+  static boolean isSegmentFile(Path path) {
+    String fileName = path.getFileName().toString();
+    return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_SUFFIX);
+  }
+
+  /**
+   * 파일을 메모리 매핑하여 기록을 한 건씩 복원하는 반복자를 반환합니다.
+   */
+  @Override
+  public Iterator<ParkingRecord> iterator() {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException("세그먼트 파일을 읽을 수 없습니다: " + path, e);
+    }
+
+    buffer.position(HEADER_SIZE - 4);
+    int stringCount = buffer.getInt();
+    // 사전 등록 번호판은 번호판 사전에 등록하지 않고 원문 그대로 기록에 담음 (이전 기록을 읽어도 사전이 커지지 않음)
+    String[] plates = new String[stringCount];
+    long[] stringKeys = new long[stringCount];
+    ByteBuffer strings = buffer.duplicate();
+    strings.position(HEADER_SIZE + recordCount * ROW_SIZE);
+    for (int i = 0; i < stringCount; i++) {
+      byte[] bytes = new byte[strings.getInt()];
+      strings.get(bytes);
+      plates[i] = new String(bytes, StandardCharsets.UTF_8);
+      stringKeys[i] = PlateCodec.find(plates[i]);
+    }
+
+    return new Iterator<ParkingRecord>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < recordCount;
+      }
+
+      @Override
+      public ParkingRecord next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        int offset = HEADER_SIZE + index++ * ROW_SIZE;
+        long plateKey = buffer.getLong(offset);
+        String plate = null;
+        if ((plateKey & STRING_REF_FLAG) != 0) {
+          int stringIndex = (int) (plateKey & ~STRING_REF_FLAG);
+          plateKey = stringKeys[stringIndex];
+          plate = plates[stringIndex];
+        }
+        return new ParkingRecord(plateKey, plate, buffer.getInt(offset + 8), buffer.getInt(offset + 12),
+            getTime(buffer, offset + 16), getTime(buffer, offset + 28));
+      }
+    };
+  }
+
+  // 같은 날짜의 세그먼트가 이미 있으면 번호를 붙인 경로 반환
+  private static Path nextSegmentPath(Path directory, LocalDate date) {
+    Path path = directory.resolve(FILE_PREFIX + date + FILE_SUFFIX);
+    for (int sequence = 1; Files.exists(path); sequence++) {
+      path = directory.resolve(FILE_PREFIX + date + "-" + sequence + FILE_SUFFIX);
+    }
+    return path;
+  }
+
+  private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+    buffer.putLong(time.toEpochSecond(ZoneOffset.UTC));
+    buffer.putInt(time.getNano());
+  }
+
+  private static LocalDateTime getTime(ByteBuffer buffer, int offset) {
+    return LocalDateTime.ofEpochSecond(buffer.getLong(offset), buffer.getInt(offset + 8), ZoneOffset.UTC);
+  }
+
+  // Getter 메서드
+  public Path getPath() {
+    return path;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public int getRecordCount() {
+    return recordCount;
+  }
+}
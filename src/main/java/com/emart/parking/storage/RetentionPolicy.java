@@ -0,0 +1,40 @@
+package com.emart.parking.storage;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 주차 기록 보존 정책
+ * 최근 hotDays일의 기록은 메모리에 두고, 그 이전 기록은 segmentDirectory의 세그먼트 파일로 옮긴다.
+ */
+public class RetentionPolicy {
+  // 기본 메모리 보존 기간 (일)
+  public static final int DEFAULT_HOT_DAYS = 7;
+  // 기본 세그먼트 디렉터리 이름
+  public static final String DEFAULT_SEGMENT_DIRECTORY = "parking-segments";
+
+  private final int hotDays; // 메모리에 보존할 일수 (오늘 포함)
+  private final Path segmentDirectory; // 세그먼트 파일 저장 위치
+
+  public RetentionPolicy(int hotDays, Path segmentDirectory) {
+    if (hotDays < 1) {
+      throw new IllegalArgumentException("메모리 보존 기간은 1일 이상이어야 합니다.");
+    }
+    this.hotDays = hotDays;
+    this.segmentDirectory = segmentDirectory;
+  }
+
+  // 기본 정책: 최근 7일은 메모리, 이전 기록은 실행 디렉터리 아래 parking-segments
+  public static RetentionPolicy defaultPolicy() {
+    return new RetentionPolicy(DEFAULT_HOT_DAYS,
+        Paths.get(System.getProperty("user.dir"), DEFAULT_SEGMENT_DIRECTORY));
+  }
+
+  public int getHotDays() {
+    return hotDays;
+  }
+
+  public Path getSegmentDirectory() {
+    return segmentDirectory;
+  }
+}
@@ -1,14 +1,23 @@
 package com.emart.parking.ui;
 
+import java.io.IOException;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
+import com.emart.parking.model.ParkingLotSnapshot;
 import com.emart.parking.model.ParkingRecord;
-import com.emart.parking.model.ParkingSpace;
+import com.emart.parking.model.ParkingSpaceSnapshot;
+import com.emart.parking.model.Reservation;
+import com.emart.parking.replication.ReplicationFollower;
+import com.emart.parking.replication.ReplicationPrimary;
+import com.emart.parking.service.ExportJob;
+import com.emart.parking.service.OverstayAlert;
 import com.emart.parking.service.ParkingService;
 import com.emart.parking.util.CsvExporter;
 
@@ -20,7 +29,11 @@ public class ParkingUI {
   private final Scanner scanner;
 
   public ParkingUI() {
-    this.parkingService = new ParkingService();
+    this(new ParkingService());
+  }
+
+  public ParkingUI(ParkingService parkingService) {
+    this.parkingService = parkingService;
     this.scanner = new Scanner(System.in);
   }
 
@@ -35,7 +48,7 @@ public class ParkingUI {
     boolean running = true;
     while (running) {
       displayMainMenu();
-      int choice = getUserChoice(1, 7);
+      int choice = getUserChoice(1, 12);
 
       switch (choice) {
         case 1:
@@ -60,8 +73,24 @@ public class ParkingUI {
           running = false;
           System.out.println("프로그램을 종료합니다.");
           break;
+        case 8:
+          showExportJobs();
+          break;
+        case 9:
+          showOverstayCars();
+          break;
+        case 10:
+          findCarLocation();
+          break;
+        case 11:
+          manageReplication();
+          break;
+        case 12:
+          manageReservations();
+          break;
       }
     }
+    parkingService.shutdown();
     scanner.close();
   }
 
@@ -77,6 +106,11 @@ public class ParkingUI {
     System.out.println("5. 주차 기록 내보내기 (CSV)");
     System.out.println("6. 매출 현황 조회");
     System.out.println("7. 종료");
+    System.out.println("8. 내보내기 작업 현황");
+    System.out.println("9. 장기 주차 차량 조회");
+    System.out.println("10. 차량 위치 검색");
+    System.out.println("11. 복제 상태 조회");
+    System.out.println("12. 주차 공간 예약");
     System.out.print("메뉴를 선택하세요: ");
   }
 
@@ -104,18 +138,21 @@ public class ParkingUI {
   private void showParkingStatus() {
     System.out.println("\n[주차장 현황]");
 
+    // 전체와 층별 통계가 같은 시점을 기준으로 하도록 스냅샷 하나에서 계산
+    ParkingLotSnapshot snapshot = parkingService.getParkingLotSnapshot();
+
     // 전체 주차장 통계
-    Map<String, Integer> totalStats = parkingService.getTotalStatistics();
-    System.out.printf("전체 주차 공간: %d, 사용 중: %d, 비어있음: %d\n",
-        totalStats.get("전체"), totalStats.get("사용중"), totalStats.get("비어있음"));
+    Map<String, Integer> totalStats = snapshot.getTotalStatistics();
+    System.out.printf("전체 주차 공간: %d, 사용 중: %d, 예약: %d, 비어있음: %d\n",
+        totalStats.get("전체"), totalStats.get("사용중"), totalStats.get("예약"), totalStats.get("비어있음"));
 
     // 층별 주차장 통계
-    Map<Integer, Map<String, Integer>> floorStats = parkingService.getStatisticsByFloor();
+    Map<Integer, Map<String, Integer>> floorStats = snapshot.getStatisticsByFloor();
     System.out.println("\n[층별 주차 현황]");
-    for (Integer floor : parkingService.getFloorList()) {
+    for (Integer floor : snapshot.getFloorList()) {
       Map<String, Integer> stats = floorStats.get(floor);
-      System.out.printf("%d층: 전체 %d, 사용 중 %d, 비어있음 %d\n",
-          floor, stats.get("전체"), stats.get("사용중"), stats.get("비어있음"));
+      System.out.printf("%d층: 전체 %d, 사용 중 %d, 예약 %d, 비어있음 %d\n",
+          floor, stats.get("전체"), stats.get("사용중"), stats.get("예약"), stats.get("비어있음"));
     }
 
     // 세부 주차 공간 현황
@@ -136,17 +173,24 @@ public class ParkingUI {
    * 특정 층의 주차 공간 세부 정보 표시
    */
   private void displayFloorDetails(int floor) {
-    List<ParkingSpace> spaces = parkingService.getParkingSpacesByFloor(floor);
+    List<ParkingSpaceSnapshot> spaces = parkingService.getParkingSpacesByFloor(floor);
     if (spaces.isEmpty()) {
       System.out.println("해당 층의 주차 공간이 없습니다.");
       return;
     }
 
     System.out.printf("\n[%d층 주차 공간 현황]\n", floor);
-    for (ParkingSpace space : spaces) {
-      String status = space.isOccupied() ? String.format("점유 (차량: %s, 입차시간: %s)",
-          space.getCarNumber(),
-          space.getParkingStartTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))) : "비어있음";
+    for (ParkingSpaceSnapshot space : spaces) {
+      String status;
+      if (space.isOccupied()) {
+        status = String.format("점유 (차량: %s, 입차시간: %s)", space.getCarNumber(),
+            space.getParkingStartTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+      } else if (space.isReserved()) {
+        status = String.format("예약 (차량: %s, 만료: %s)", space.getReservation().getCarNumber(),
+            space.getReservation().getHoldUntil().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+      } else {
+        status = "비어있음";
+      }
       System.out.printf("공간 %03d: %s\n", space.getSpaceNumber(), status);
     }
   }
@@ -156,6 +200,10 @@ public class ParkingUI {
    */
   private void handleCarEntry() {
     System.out.println("\n[차량 입차 처리]");
+    if (parkingService.isReadOnly()) {
+      System.out.println("대기 서버에서는 입차를 처리할 수 없습니다. (복제 메뉴에서 승격 후 처리)");
+      return;
+    }
 
     System.out.print("입차할 층 번호를 입력하세요: ");
     int floor = getValidatedFloor();
@@ -168,7 +216,7 @@ public class ParkingUI {
       return;
 
     // 해당 주차 공간이 이미 점유 중인지 확인
-    ParkingSpace space = parkingService.getParkingSpace(floor, spaceNumber);
+    ParkingSpaceSnapshot space = parkingService.getParkingSpace(floor, spaceNumber);
     if (space.isOccupied()) {
       System.out.println("해당 주차 공간은 이미 점유 중입니다. (차량번호: " + space.getCarNumber() + ")");
       return;
@@ -184,6 +232,8 @@ public class ParkingUI {
     boolean success = parkingService.parkCar(floor, spaceNumber, carNumber);
     if (success) {
       System.out.printf("%d층 %d번 주차 공간에 차량(%s)이 입차되었습니다.\n", floor, spaceNumber, carNumber);
+    } else if (space.isReserved()) {
+      System.out.println("해당 주차 공간은 다른 차량(" + space.getReservation().getCarNumber() + ")이 예약한 공간입니다.");
     } else {
       System.out.println("차량 입차 처리 중 오류가 발생했습니다.");
     }
@@ -194,6 +244,10 @@ public class ParkingUI {
    */
   private void handleCarExit() {
     System.out.println("\n[차량 출차 처리]");
+    if (parkingService.isReadOnly()) {
+      System.out.println("대기 서버에서는 출차를 처리할 수 없습니다. (복제 메뉴에서 승격 후 처리)");
+      return;
+    }
 
     System.out.print("출차할 층 번호를 입력하세요: ");
     int floor = getValidatedFloor();
@@ -206,7 +260,7 @@ public class ParkingUI {
       return;
 
     // 해당 주차 공간에 차량이 있는지 확인
-    ParkingSpace space = parkingService.getParkingSpace(floor, spaceNumber);
+    ParkingSpaceSnapshot space = parkingService.getParkingSpace(floor, spaceNumber);
     if (!space.isOccupied()) {
       System.out.println("해당 주차 공간에 주차된 차량이 없습니다.");
       return;
@@ -258,9 +312,9 @@ public class ParkingUI {
   private int getValidatedSpaceNumber(int floor) {
     try {
       int spaceNumber = Integer.parseInt(scanner.nextLine().trim());
-      ParkingSpace space = parkingService.getParkingSpace(floor, spaceNumber);
+      ParkingSpaceSnapshot space = parkingService.getParkingSpace(floor, spaceNumber);
       if (space == null) {
-        List<ParkingSpace> spaces = parkingService.getParkingSpacesByFloor(floor);
+        List<ParkingSpaceSnapshot> spaces = parkingService.getParkingSpacesByFloor(floor);
         int maxNumber = spaces.isEmpty() ? 0 : spaces.size();
         System.out.println("유효하지 않은 주차 공간 번호입니다. 1에서 " + maxNumber + " 사이의 값을 입력하세요.");
         return -1;
@@ -277,13 +331,42 @@ public class ParkingUI {
    */
   private void showParkingRecords() {
     System.out.println("\n[주차 기록 조회]");
-    List<ParkingRecord> records = parkingService.getParkingRecords();
+    System.out.println("최근 " + parkingService.getHotRetentionDays() + "일간의 주차 기록입니다.");
+    List<ParkingRecord> records = parkingService.getRecentParkingRecords();
 
     if (records.isEmpty()) {
-      System.out.println("주차 기록이 없습니다.");
+      System.out.println("최근 주차 기록이 없습니다.");
+    } else {
+      printParkingRecords(records);
+    }
+
+    // 이전 기록은 기간을 지정해 조회 (디스크에 보관된 기록 포함)
+    System.out.print("\n기간을 지정해 이전 기록을 조회하시겠습니까? (Y/N): ");
+    if (!scanner.nextLine().trim().toUpperCase().equals("Y")) {
       return;
     }
 
+    try {
+      System.out.print("시작 날짜를 입력하세요 (YYYY-MM-DD): ");
+      LocalDate from = LocalDate.parse(scanner.nextLine().trim());
+      System.out.print("종료 날짜를 입력하세요 (YYYY-MM-DD): ");
+      LocalDate to = LocalDate.parse(scanner.nextLine().trim());
+
+      List<ParkingRecord> periodRecords = parkingService.getParkingRecords(from, to);
+      if (periodRecords.isEmpty()) {
+        System.out.println("해당 기간의 주차 기록이 없습니다.");
+        return;
+      }
+      printParkingRecords(periodRecords);
+    } catch (DateTimeParseException e) {
+      System.out.println("유효한 날짜 형식이 아닙니다. (YYYY-MM-DD 형식으로 입력하세요)");
+    }
+  }
+
+  /**
+   * 주차 기록 목록 출력
+   */
+  private void printParkingRecords(List<ParkingRecord> records) {
     // 주차 기록 헤더
     System.out.println("번호\t차량번호\t위치\t\t입차시간\t\t\t출차시간\t\t\t시간(분)\t요금(원)");
     System.out
@@ -306,9 +389,7 @@ public class ParkingUI {
    */
   private void exportParkingRecords() {
     System.out.println("\n[주차 기록 내보내기]");
-    List<ParkingRecord> records = parkingService.getParkingRecords();
-
-    if (records.isEmpty()) {
+    if (parkingService.getParkingRecordCount() == 0) {
       System.out.println("내보낼 주차 기록이 없습니다.");
       return;
     }
@@ -321,13 +402,248 @@ public class ParkingUI {
       fileName = defaultFileName;
     }
 
+    System.out.print("출차 날짜별로 파일을 나누시겠습니까? (Y/N): ");
+    boolean splitByDay = scanner.nextLine().trim().toUpperCase().equals("Y");
+
     String filePath = Paths.get(System.getProperty("user.dir"), fileName).toString();
-    boolean success = parkingService.exportParkingRecordsToCsv(filePath);
+    ExportJob job = parkingService.submitExport(filePath, splitByDay);
 
-    if (success) {
-      System.out.println("주차 기록이 성공적으로 내보내졌습니다: " + filePath);
+    System.out.printf("내보내기 작업 #%d이(가) 백그라운드에서 시작되었습니다. (대상: %,d건)\n",
+        job.getId(), job.getTotalRows());
+    System.out.println("진행 상황은 '내보내기 작업 현황' 메뉴에서 확인할 수 있습니다.");
+  }
+
+  /**
+   * 내보내기 작업 현황 조회 및 취소
+   */
+  private void showExportJobs() {
+    System.out.println("\n[내보내기 작업 현황]");
+    List<ExportJob> jobs = parkingService.getExportJobs();
+
+    if (jobs.isEmpty()) {
+      System.out.println("제출된 내보내기 작업이 없습니다.");
+      return;
+    }
+
+    boolean hasRunningJob = false;
+    for (ExportJob job : jobs) {
+      System.out.println(job);
+      for (String outputFile : job.getOutputFiles()) {
+        System.out.println("  - " + outputFile);
+      }
+      hasRunningJob |= !job.isDone();
+    }
+
+    if (!hasRunningJob) {
+      return;
+    }
+
+    System.out.print("\n진행 중인 작업을 취소하시겠습니까? (Y/N): ");
+    if (scanner.nextLine().trim().toUpperCase().equals("Y")) {
+      System.out.print("취소할 작업 번호를 입력하세요: ");
+      try {
+        ExportJob job = parkingService.getExportJob(Integer.parseInt(scanner.nextLine().trim()));
+        if (job != null && job.cancel()) {
+          System.out.println("작업 #" + job.getId() + "을(를) 취소했습니다. (작성 중이던 파일은 삭제됩니다)");
+        } else {
+          System.out.println("취소할 수 있는 작업이 아닙니다.");
+        }
+      } catch (NumberFormatException e) {
+        System.out.println("유효한 숫자를 입력하세요.");
+      }
+    }
+  }
+
+  /**
+   * 주차 허용 시간을 넘긴 차량 조회
+   */
+  private void showOverstayCars() {
+    System.out.println("\n[장기 주차 차량 조회]");
+    System.out.println("주차 허용 시간: " + parkingService.getOverstayLimit().toHours() + "시간");
+
+    List<OverstayAlert> alerts = parkingService.getOverstayAlerts();
+    if (alerts.isEmpty()) {
+      System.out.println("허용 시간을 넘긴 차량이 없습니다.");
+      return;
+    }
+
+    for (OverstayAlert alert : alerts) {
+      System.out.println(alert);
+    }
+  }
+
+  /**
+   * 차량 번호로 주차 위치 검색
+   */
+  private void findCarLocation() {
+    System.out.println("\n[차량 위치 검색]");
+    System.out.print("차량 번호를 입력하세요 (예: 12가3456): ");
+    String carNumber = scanner.nextLine().trim();
+    if (carNumber.isEmpty()) {
+      System.out.println("차량 번호는 필수 입력 사항입니다.");
+      return;
+    }
+
+    ParkingSpaceSnapshot space = parkingService.findParkingSpaceByCarNumber(carNumber);
+    if (space == null) {
+      System.out.println("주차 중인 차량이 아닙니다.");
+      return;
+    }
+    System.out.printf("차량(%s)은 %d층 %d번 주차 공간에 주차 중입니다.\n",
+        space.getCarNumber(), space.getFloor(), space.getSpaceNumber());
+  }
+
+  /**
+   * 복제 상태 조회 및 설정
+   */
+  private void manageReplication() {
+    System.out.println("\n[복제 상태 조회]");
+
+    ReplicationPrimary primary = parkingService.getReplicationPrimary();
+    if (primary != null) {
+      List<ReplicationPrimary.FollowerConnection> followers = primary.getFollowers();
+      System.out.println("역할: 주 서버 (복제 포트: " + primary.getPort() + ")");
+      System.out.println("발생 이벤트 수: " + primary.getEventCount());
+      System.out.println("접속 중인 대기 서버: " + followers.size() + "대");
+      for (ReplicationPrimary.FollowerConnection follower : followers) {
+        System.out.printf("  %s - 전송 %d건 (지연 %d건)\n", follower.getAddress(),
+            follower.getSentSequence(), primary.getEventCount() - follower.getSentSequence());
+      }
+      return;
+    }
+
+    ReplicationFollower follower = parkingService.getReplicationFollower();
+    if (follower != null) {
+      System.out.println("역할: 대기 서버 (주 서버: " + follower.getPrimaryAddress() + ")");
+      System.out.println("연결 상태: " + (follower.isConnected() ? "연결됨" : "연결 끊김 (재접속 중)"));
+      System.out.println("적용한 이벤트 수: " + follower.getAppliedSequence());
+      System.out.print("\n이 서버를 주 서버로 승격하시겠습니까? (Y/N): ");
+      if (scanner.nextLine().trim().toUpperCase().equals("Y")) {
+        parkingService.promote();
+        System.out.println("주 서버로 승격되었습니다. 이제 입출차를 처리할 수 있습니다.");
+      }
+      return;
+    }
+
+    System.out.println("역할: 단독 서버 (복제 사용 안 함)");
+    System.out.print("주 서버로 복제를 시작하시겠습니까? (Y/N): ");
+    if (!scanner.nextLine().trim().toUpperCase().equals("Y")) {
+      return;
+    }
+    System.out.print("복제 포트를 입력하세요: ");
+    try {
+      int port = Integer.parseInt(scanner.nextLine().trim());
+      primary = parkingService.startReplicationPrimary(port);
+      System.out.println(primary.getPort() + "번 포트에서 대기 서버의 접속을 기다립니다.");
+    } catch (NumberFormatException e) {
+      System.out.println("유효한 포트 번호가 아닙니다.");
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("복제를 시작할 수 없습니다: " + e.getMessage());
+    }
+  }
+
+  /**
+   * 주차 공간 예약 관리
+   */
+  private void manageReservations() {
+    System.out.println("\n[주차 공간 예약]");
+    System.out.println("1. 공간 지정 예약");
+    System.out.println("2. 빈 공간 자동 예약");
+    System.out.println("3. 예약 차량 입차 / 빈 공간 자동 배정 입차");
+    System.out.println("4. 예약 취소");
+    System.out.println("5. 예약 목록 조회");
+    System.out.print("메뉴를 선택하세요: ");
+    int choice = getUserChoice(1, 5);
+
+    if (choice == 5) {
+      List<Reservation> reservations = parkingService.getReservations();
+      if (reservations.isEmpty()) {
+        System.out.println("유효한 예약이 없습니다.");
+      }
+      for (Reservation reservation : reservations) {
+        System.out.println(reservation);
+      }
+      return;
+    }
+
+    if (choice == 4) {
+      System.out.print("취소할 예약 번호를 입력하세요: ");
+      try {
+        long reservationId = Long.parseLong(scanner.nextLine().trim());
+        if (parkingService.cancelReservation(reservationId)) {
+          System.out.println("예약이 취소되었습니다.");
+        } else {
+          System.out.println("해당 예약을 찾을 수 없습니다.");
+        }
+      } catch (NumberFormatException e) {
+        System.out.println("유효한 숫자를 입력하세요.");
+      }
+      return;
+    }
+
+    if (parkingService.isReadOnly()) {
+      System.out.println("대기 서버에서는 예약과 입차를 처리할 수 없습니다. (복제 메뉴에서 승격 후 처리)");
+      return;
+    }
+
+    int floor = 0;
+    int spaceNumber = 0;
+    if (choice == 1) {
+      System.out.print("예약할 층 번호를 입력하세요: ");
+      floor = getValidatedFloor();
+      if (floor == -1)
+        return;
+      System.out.print("예약할 주차 공간 번호를 입력하세요: ");
+      spaceNumber = getValidatedSpaceNumber(floor);
+      if (spaceNumber == -1)
+        return;
+    }
+
+    System.out.print("차량 번호를 입력하세요 (예: 12가3456): ");
+    String carNumber = scanner.nextLine().trim();
+    if (carNumber.isEmpty()) {
+      System.out.println("차량 번호는 필수 입력 사항입니다.");
+      return;
+    }
+
+    if (choice == 3) {
+      ParkingSpaceSnapshot space = parkingService.parkCarAtFreeSpace(carNumber);
+      if (space == null) {
+        System.out.println("배정할 수 있는 빈 공간이 없거나 이미 주차 중인 차량입니다.");
+      } else {
+        System.out.printf("%d층 %d번 주차 공간에 차량(%s)이 입차되었습니다.\n",
+            space.getFloor(), space.getSpaceNumber(), space.getCarNumber());
+      }
+      return;
+    }
+
+    Duration holdTime = ParkingService.DEFAULT_RESERVATION_HOLD;
+    System.out.print("예약 유지 시간(분)을 입력하세요 (기본 " + holdTime.toMinutes() + "분): ");
+    String minutes = scanner.nextLine().trim();
+    if (!minutes.isEmpty()) {
+      long holdMinutes;
+      try {
+        holdMinutes = Long.parseLong(minutes);
+      } catch (NumberFormatException e) {
+        System.out.println("유효한 숫자를 입력하세요.");
+        return;
+      }
+      // 범위를 먼저 확인 (아주 큰 값은 Duration 변환 중 오버플로가 발생함)
+      long maxMinutes = ParkingService.MAX_RESERVATION_HOLD.toMinutes();
+      if (holdMinutes < 1 || holdMinutes > maxMinutes) {
+        System.out.println("예약 유지 시간은 1분부터 " + maxMinutes + "분까지 입력할 수 있습니다.");
+        return;
+      }
+      holdTime = Duration.ofMinutes(holdMinutes);
+    }
+
+    Reservation reservation = choice == 1
+        ? parkingService.reserveSpace(floor, spaceNumber, carNumber, holdTime)
+        : parkingService.reserveFreeSpace(carNumber, holdTime);
+    if (reservation == null) {
+      System.out.println("예약할 수 없습니다. (공간이 사용 중이거나 예약되어 있음, 또는 이미 예약/주차 중인 차량)");
     } else {
-      System.out.println("주차 기록 내보내기에 실패했습니다.");
+      System.out.println("예약되었습니다. " + reservation);
     }
   }
 
@@ -1,11 +1,14 @@
 package com.emart.parking.util;
 
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 import com.emart.parking.model.ParkingRecord;
 
@@ -15,6 +18,26 @@ import com.emart.parking.model.ParkingRecord;
 public class CsvExporter {
   private static final String CSV_HEADER = "차량번호,층,주차공간번호,입차시간,출차시간,주차시간(분),주차요금(원)";
 
+  /**
+   * 내보내기 진행 상황을 전달받고 취소 여부를 알려주는 인터페이스
+   */
+  public interface ExportProgress {
+    /**
+     * 지정한 행 수만큼 기록이 파일에 쓰였음을 알립니다.
+     *
+     * @param count 새로 쓰인 행 수
+     */
+    void rowsWritten(int count);
+
+    /**
+     * @return 내보내기를 중단해야 하면 true
+     */
+    boolean isCancelled();
+  }
+
+  // 진행 상황을 보고하는 행 단위 (행마다 보고하면 카운터 경합이 커짐)
+  private static final int PROGRESS_BATCH_SIZE = 256;
+
   /**
    * 주차 기록을 CSV 파일로 내보냅니다.
    * 
@@ -22,24 +45,73 @@ public class CsvExporter {
    * @param filePath 저장할 파일 경로
    * @return 내보내기 성공 여부
    */
-  public boolean exportParkingRecords(List<ParkingRecord> records, String filePath) {
-    try (FileWriter writer = new FileWriter(filePath, StandardCharsets.UTF_8)) {
+  public boolean exportParkingRecords(Iterable<ParkingRecord> records, String filePath) {
+    return exportParkingRecords(records, filePath, null);
+  }
+
+  /**
+   * 진행 상황을 보고하면서 주차 기록을 CSV 파일로 내보냅니다.
+   * 취소되면 작성 중이던 파일을 삭제하고 false를 반환합니다.
+   *
+   * @param records  내보낼 주차 기록 목록
+   * @param filePath 저장할 파일 경로
+   * @param progress 진행 상황 수신자 (null이면 보고하지 않음)
+   * @return 내보내기 성공 여부
+   */
+  public boolean exportParkingRecords(Iterable<ParkingRecord> records, String filePath, ExportProgress progress) {
+    boolean completed = false;
+    try (Writer writer = new BufferedWriter(new FileWriter(filePath, StandardCharsets.UTF_8))) {
       // CSV 헤더 작성
       writer.append(CSV_HEADER);
       writer.append(System.lineSeparator());
 
       // 각 주차 기록을 CSV 형식으로 작성
+      int pending = 0;
       for (ParkingRecord record : records) {
         writer.append(record.toCsvString());
         writer.append(System.lineSeparator());
+
+        if (progress != null && ++pending == PROGRESS_BATCH_SIZE) {
+          progress.rowsWritten(pending);
+          pending = 0;
+          if (progress.isCancelled()) {
+            break;
+          }
+        }
+      }
+      if (progress != null && pending > 0) {
+        progress.rowsWritten(pending);
       }
 
       writer.flush();
-      return true;
-    } catch (IOException e) {
+      completed = progress == null || !progress.isCancelled();
+    } catch (IOException | UncheckedIOException e) {
+      // UncheckedIOException: 디스크 세그먼트를 읽는 중 발생한 오류
       System.err.println("CSV 파일 내보내기 오류: " + e.getMessage());
-      return false;
     }
+
+    if (!completed) {
+      // 취소되거나 실패한 경우 불완전한 파일을 남기지 않음
+      new File(filePath).delete();
+    }
+    return completed;
+  }
+
+  /**
+   * 날짜별 분할 내보내기에 사용할 파일 경로를 생성합니다.
+   *
+   * @param filePath 기준 파일 경로 (예: "주차기록.csv")
+   * @param date     기록 날짜
+   * @return "주차기록_YYYY-MM-DD.csv" 형식의 파일 경로
+   */
+  public static String getDailyFilePath(String filePath, LocalDate date) {
+    String suffix = "_" + date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    int extensionIndex = filePath.lastIndexOf('.');
+    int separatorIndex = Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf('\\'));
+    if (extensionIndex <= separatorIndex) {
+      return filePath + suffix + ".csv";
+    }
+    return filePath.substring(0, extensionIndex) + suffix + filePath.substring(extensionIndex);
   }
 
   /**
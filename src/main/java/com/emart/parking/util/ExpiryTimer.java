@@ -0,0 +1,68 @@
+package com.emart.parking.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 타이밍 휠과 휠을 주기적으로 진행시키는 스레드를 묶은 만료 타이머
+ * 장기 주차 감시와 예약 만료처럼 초 단위 정확도로 충분한 타이머에서 함께 사용한다.
+ *
+ * @param <T> 타이머에 연결할 데이터 타입
+ */
+public class ExpiryTimer<T> {
+  // 타이밍 휠 설정: 1초 단위, 단계별 64칸, 4단계 (약 194일 범위)
+  private static final long TICK_MILLIS = 1000;
+  private static final int WHEEL_SIZE = 64;
+  private static final int WHEEL_LEVELS = 4;
+
+  private final String name;
+  private final Consumer<T> onExpired;
+  private final HierarchicalTimingWheel<T> timingWheel;
+  private final ScheduledExecutorService ticker;
+
+  /**
+   * 만료 타이머를 만들고 진행 스레드를 시작합니다.
+   *
+   * @param name      진행 스레드 이름
+   * @param onExpired 만료된 타이머 처리 (진행 스레드에서 호출됨)
+   */
+  public ExpiryTimer(String name, Consumer<T> onExpired) {
+    this.name = name;
+    this.onExpired = onExpired;
+    this.timingWheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, WHEEL_LEVELS,
+        System.currentTimeMillis());
+    this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  // 타이머 등록 (반환된 핸들로 O(1) 취소)
+  public HierarchicalTimingWheel.Timeout<T> schedule(T payload, long deadlineMillis) {
+    return timingWheel.schedule(payload, deadlineMillis);
+  }
+
+  // 만료 대기 중인 타이머 수
+  public int size() {
+    return timingWheel.size();
+  }
+
+  // 진행 스레드 종료
+  public void shutdown() {
+    ticker.shutdown();
+  }
+
+  // 타이밍 휠을 현재 시각까지 진행
+  private void tick() {
+    try {
+      timingWheel.advanceTo(System.currentTimeMillis(), onExpired);
+    } catch (RuntimeException e) {
+      // 예외로 주기 실행이 멈추지 않도록 기록만 남김
+      System.err.println("만료 타이머 처리 오류 (" + name + "): " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package com.emart.parking.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠
+ * 타이머 등록과 취소를 O(1)로 처리하며, 시간이 흐를 때 해당 칸의 타이머만 확인하므로
+ * 등록된 타이머 전체를 주기적으로 훑지 않는다.
+ *
+ * <p>
+ * 0단계 휠의 한 칸은 tick 하나이고, n단계 휠의 한 칸은 wheelSize^n tick이다.
+ * 상위 단계의 칸에 도달하면 그 칸의 타이머를 하위 단계로 다시 배치(cascade)한다.
+ *
+ * @param <T> 타이머에 연결할 데이터 타입
+ */
+public class HierarchicalTimingWheel<T> {
+
+  /**
+   * 휠에 등록된 타이머 핸들
+   */
+  public static final class Timeout<T> {
+    private final HierarchicalTimingWheel<T> wheel;
+    private final T payload;
+    private final long expiryTick; // 만료 tick
+    private Timeout<T> prev;
+    private Timeout<T> next;
+    private Bucket<T> bucket; // 현재 소속된 칸 (만료 또는 취소되면 null)
+
+    private Timeout(HierarchicalTimingWheel<T> wheel, T payload, long expiryTick) {
+      this.wheel = wheel;
+      this.payload = payload;
+      this.expiryTick = expiryTick;
+    }
+
+    /**
+     * 타이머를 취소합니다.
+     *
+     * @return 아직 만료되지 않은 타이머를 취소했으면 true
+     */
+    public boolean cancel() {
+      return wheel.cancel(this);
+    }
+
+    public T getPayload() {
+      return payload;
+    }
+  }
+
+  // 휠의 한 칸 - 타이머의 이중 연결 리스트
+  private static final class Bucket<T> {
+    private Timeout<T> head;
+
+    private void add(Timeout<T> timeout) {
+      timeout.bucket = this;
+      timeout.prev = null;
+      timeout.next = head;
+      if (head != null) {
+        head.prev = timeout;
+      }
+      head = timeout;
+    }
+
+    private void remove(Timeout<T> timeout) {
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+
+    // 칸을 비우고 연결되어 있던 타이머 목록의 첫 항목 반환
+    private Timeout<T> drain() {
+      Timeout<T> first = head;
+      head = null;
+      return first;
+    }
+  }
+
+  private final long tickMillis; // tick 하나의 길이(밀리초)
+  private final int wheelSize; // 단계별 칸 수
+  private final long[] ticksPerSlot; // 단계별 한 칸의 tick 수
+  private final long maxTicks; // 휠 전체가 표현하는 tick 범위
+  private final Bucket<T>[][] buckets; // [단계][칸]
+  private final long startMillis; // tick 0에 해당하는 시각
+  private long currentTick; // 마지막으로 처리한 tick
+  private int size; // 등록된 타이머 수
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+    if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+      throw new IllegalArgumentException("잘못된 타이밍 휠 설정입니다.");
+    }
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.ticksPerSlot = new long[levels];
+    this.buckets = new Bucket[levels][wheelSize];
+
+    long span = 1;
+    for (int level = 0; level < levels; level++) {
+      ticksPerSlot[level] = span;
+      span = Math.multiplyExact(span, wheelSize);
+      for (int slot = 0; slot < wheelSize; slot++) {
+        buckets[level][slot] = new Bucket<>();
+      }
+    }
+    this.maxTicks = span;
+    this.startMillis = startMillis;
+    this.currentTick = 0;
+  }
+
+  /**
+   * 지정한 시각에 만료되는 타이머를 등록합니다. 이미 지난 시각이면 다음 tick에 만료됩니다.
+   *
+   * @param payload        타이머에 연결할 데이터
+   * @param deadlineMillis 만료 시각 (epoch 밀리초)
+   * @return 취소에 사용할 타이머 핸들
+   */
+  public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+    // 만료 시각을 tick 단위로 올림 (정해진 시각보다 일찍 만료되지 않도록)
+    long expiryTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+    Timeout<T> timeout = new Timeout<>(this, payload, Math.max(expiryTick, currentTick + 1));
+    place(timeout);
+    size++;
+    return timeout;
+  }
+
+  // 타이머 취소
+  private synchronized boolean cancel(Timeout<T> timeout) {
+    if (timeout.bucket == null) {
+      return false;
+    }
+    timeout.bucket.remove(timeout);
+    size--;
+    return true;
+  }
+
+  /**
+   * 지정한 시각까지 시간을 진행시키고 만료된 타이머의 데이터를 전달합니다.
+   * 만료 처리는 휠의 락을 놓은 뒤에 호출되므로 처리 중에 타이머를 등록하거나 취소해도 됩니다.
+   *
+   * @param nowMillis 현재 시각 (epoch 밀리초)
+   * @param onExpired 만료된 타이머 처리
+   */
+  public void advanceTo(long nowMillis, Consumer<T> onExpired) {
+    List<T> expired = new ArrayList<>();
+    synchronized (this) {
+      long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+      while (currentTick < targetTick) {
+        currentTick++;
+        cascade();
+        expireCurrentSlot(expired);
+      }
+    }
+
+    for (T payload : expired) {
+      onExpired.accept(payload);
+    }
+  }
+
+  // 등록된 타이머 수
+  public synchronized int size() {
+    return size;
+  }
+
+  // 타이머를 만료 tick에 맞는 단계와 칸에 배치
+  private void place(Timeout<T> timeout) {
+    long delta = timeout.expiryTick - currentTick;
+    // 휠 범위를 넘는 타이머는 최상위 단계의 가장 먼 칸에 두었다가 재배치 시 다시 계산
+    long slotTick = delta < maxTicks ? timeout.expiryTick : currentTick + maxTicks - 1;
+    delta = slotTick - currentTick;
+
+    int level = 0;
+    while (level < ticksPerSlot.length - 1 && delta >= ticksPerSlot[level + 1]) {
+      level++;
+    }
+    int slot = (int) ((slotTick / ticksPerSlot[level]) % wheelSize);
+    buckets[level][slot].add(timeout);
+  }
+
+  // 상위 단계 칸의 경계에 도달했으면 해당 칸의 타이머를 하위 단계로 재배치
+  private void cascade() {
+    int topLevel = 0;
+    while (topLevel < ticksPerSlot.length - 1 && currentTick % ticksPerSlot[topLevel + 1] == 0) {
+      topLevel++;
+    }
+
+    for (int level = topLevel; level >= 1; level--) {
+      int slot = (int) ((currentTick / ticksPerSlot[level]) % wheelSize);
+      Timeout<T> timeout = buckets[level][slot].drain();
+      while (timeout != null) {
+        Timeout<T> next = timeout.next;
+        timeout.prev = null;
+        timeout.next = null;
+        place(timeout);
+        timeout = next;
+      }
+    }
+  }
+
+  // 현재 tick에 해당하는 0단계 칸의 타이머 만료 처리
+  private void expireCurrentSlot(List<T> expired) {
+    Timeout<T> timeout = buckets[0][(int) (currentTick % wheelSize)].drain();
+    while (timeout != null) {
+      Timeout<T> next = timeout.next;
+      timeout.prev = null;
+      timeout.next = null;
+      if (timeout.expiryTick <= currentTick) {
+        timeout.bucket = null;
+        size--;
+        expired.add(timeout.payload);
+      } else {
+        place(timeout);
+      }
+      timeout = next;
+    }
+  }
+}
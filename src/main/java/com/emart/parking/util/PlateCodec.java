@@ -0,0 +1,319 @@
+package com.emart.parking.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 차량 번호를 long 키로 변환하는 유틸리티 클래스
+ *
+ * <p>
+ * 표준 번호판("12가3456", "123가4567", "서울12가3456")은 지역, 앞자리 숫자, 한글, 일련번호를
+ * 비트 단위로 묶어 문자열 없이 표현하고, 형식에 맞지 않는 번호판은 사전에 등록하여 일련번호를 부여한다.
+ * 같은 차량 번호는 항상 같은 키로 변환되므로 키만으로 비교와 색인이 가능하다.
+ *
+ * <p>
+ * 사전 등록 키를 보관하는 쪽(주차 공간, 예약, 최근 기록)은 retain/release로 참조를 알린다.
+ * 참조가 없는 항목은 일정 수의 새 번호판이 등록될 때마다 정리되므로 사전이 한없이 커지지 않는다.
+ * 사전 번호는 재사용하지 않으므로 정리된 키는 다른 번호판으로 해석되지 않고 decode가 null을 반환한다.
+ *
+ * <pre>
+ * 표준 번호판 키 구성 (하위 비트부터)
+ *   0-13  일련번호 (0000-9999)
+ *   14-27 한글 음절 인덱스 (가 = 0)
+ *   28-37 앞자리 숫자 값 (0-999)
+ *   38-39 앞자리 숫자 자릿수 (1-3)
+ *   40-44 지역 코드 (0 = 지역 없음)
+ * 사전 등록 번호판 키: DICTIONARY_FLAG | 사전 번호
+ * </pre>
+ */
+public final class PlateCodec {
+  // 차량이 없음을 나타내는 키 (표준 번호판은 자릿수 비트가 항상 있으므로 0이 될 수 없음)
+  public static final long EMPTY_KEY = 0L;
+
+  private static final long DICTIONARY_FLAG = 1L << 62;
+
+  private static final int SERIAL_SHIFT = 0;
+  private static final int SYLLABLE_SHIFT = 14;
+  private static final int PREFIX_SHIFT = 28;
+  private static final int PREFIX_LENGTH_SHIFT = 38;
+  private static final int REGION_SHIFT = 40;
+
+  private static final long SERIAL_MASK = (1L << 14) - 1;
+  private static final long SYLLABLE_MASK = (1L << 14) - 1;
+  private static final long PREFIX_MASK = (1L << 10) - 1;
+  private static final long PREFIX_LENGTH_MASK = (1L << 2) - 1;
+  private static final long REGION_MASK = (1L << 5) - 1;
+
+  private static final char FIRST_SYLLABLE = '가';
+  private static final char LAST_SYLLABLE = '힣';
+
+  // 구형 지역 번호판의 지역명 (배열 인덱스 + 1이 지역 코드)
+  private static final String[] REGIONS = {
+      "서울", "부산", "대구", "인천", "광주", "대전", "울산", "세종", "경기",
+      "강원", "충북", "충남", "전북", "전남", "경북", "경남", "제주"
+  };
+
+  // 참조 없는 사전 항목 정리 주기 (새로 등록된 번호판 수)
+  // 정리는 직전 정리 이후에 등록되거나 encode된 항목을 남기므로, encode 직후 retain하기 전에 정리되는 일은 없다.
+  // (이미 있던 항목도 encode할 때 세대를 갱신함)
+  private static final int SWEEP_INTERVAL = 1024;
+
+  // 사전 항목
+  private static final class DictionaryEntry {
+    private final long key;
+    private final String plate;
+    private long generation; // 마지막으로 등록 또는 encode된 시점의 정리 세대
+    private int references; // retain 횟수
+
+    private DictionaryEntry(long key, String plate, long generation) {
+      this.key = key;
+      this.plate = plate;
+      this.generation = generation;
+    }
+  }
+
+  // 형식에 맞지 않는 번호판 사전 (dictionaryByPlate로 동기화)
+  private static final Map<String, DictionaryEntry> dictionaryByPlate = new HashMap<>();
+  private static final Map<Long, DictionaryEntry> dictionaryByKey = new HashMap<>();
+  private static long nextDictionaryId; // 다음 사전 번호 (재사용하지 않음)
+  private static long generation; // 정리 세대
+  private static int insertsSinceSweep;
+
+  private PlateCodec() {
+  }
+
+  /**
+   * 차량 번호를 키로 변환합니다. 공백과 '-'는 무시합니다.
+   *
+   * @param carNumber 차량 번호
+   * @return 차량 번호 키 (null이거나 빈 번호이면 EMPTY_KEY)
+   */
+  public static long encode(String carNumber) {
+    if (carNumber == null) {
+      return EMPTY_KEY;
+    }
+    String plate = normalize(carNumber);
+    if (plate.isEmpty()) {
+      return EMPTY_KEY;
+    }
+
+    long key = pack(plate);
+    return key != EMPTY_KEY ? key : intern(plate);
+  }
+
+  /**
+   * 차량 번호의 키를 찾습니다. 사전에 없는 번호판은 등록하지 않습니다(조회 전용).
+   *
+   * @param carNumber 차량 번호
+   * @return 차량 번호 키 (표준 번호판이 아니고 사전에도 없으면 EMPTY_KEY)
+   */
+  public static long find(String carNumber) {
+    if (carNumber == null) {
+      return EMPTY_KEY;
+    }
+    String plate = normalize(carNumber);
+    long key = plate.isEmpty() ? EMPTY_KEY : pack(plate);
+    if (key != EMPTY_KEY || plate.isEmpty()) {
+      return key;
+    }
+    synchronized (dictionaryByPlate) {
+      DictionaryEntry entry = dictionaryByPlate.get(plate);
+      return entry == null ? EMPTY_KEY : entry.key;
+    }
+  }
+
+  /**
+   * 사전 등록 키를 보관한다고 알립니다. 보관하는 동안에는 사전에서 정리되지 않습니다.
+   * 표준 번호판 키는 아무 일도 하지 않습니다.
+   *
+   * @param key 차량 번호 키
+   */
+  public static void retain(long key) {
+    if ((key & DICTIONARY_FLAG) == 0) {
+      return;
+    }
+    synchronized (dictionaryByPlate) {
+      DictionaryEntry entry = dictionaryByKey.get(key);
+      if (entry == null) {
+        throw new IllegalStateException("정리된 차량 번호 키입니다: " + key);
+      }
+      entry.references++;
+    }
+  }
+
+  /**
+   * 사전 등록 키의 보관을 마쳤다고 알립니다.
+   *
+   * @param key 차량 번호 키
+   */
+  public static void release(long key) {
+    if ((key & DICTIONARY_FLAG) == 0) {
+      return;
+    }
+    synchronized (dictionaryByPlate) {
+      DictionaryEntry entry = dictionaryByKey.get(key);
+      if (entry != null && entry.references > 0) {
+        entry.references--;
+      }
+    }
+  }
+
+  /**
+   * 키를 차량 번호로 변환합니다.
+   *
+   * @param key 차량 번호 키
+   * @return 정규화된 차량 번호 (EMPTY_KEY이거나 사전에서 정리된 키이면 null)
+   */
+  public static String decode(long key) {
+    if (key == EMPTY_KEY) {
+      return null;
+    }
+    if ((key & DICTIONARY_FLAG) != 0) {
+      synchronized (dictionaryByPlate) {
+        DictionaryEntry entry = dictionaryByKey.get(key);
+        return entry == null ? null : entry.plate;
+      }
+    }
+
+    int region = (int) ((key >>> REGION_SHIFT) & REGION_MASK);
+    int prefixLength = (int) ((key >>> PREFIX_LENGTH_SHIFT) & PREFIX_LENGTH_MASK);
+    int prefix = (int) ((key >>> PREFIX_SHIFT) & PREFIX_MASK);
+    char syllable = (char) (FIRST_SYLLABLE + ((key >>> SYLLABLE_SHIFT) & SYLLABLE_MASK));
+    int serial = (int) ((key >>> SERIAL_SHIFT) & SERIAL_MASK);
+
+    StringBuilder plate = new StringBuilder(12);
+    if (region > 0) {
+      plate.append(REGIONS[region - 1]);
+    }
+    appendPadded(plate, prefix, prefixLength);
+    plate.append(syllable);
+    appendPadded(plate, serial, 4);
+    return plate.toString();
+  }
+
+  /**
+   * 차량 번호의 공백과 '-'를 제거합니다.
+   *
+   * @param carNumber 차량 번호
+   * @return 정규화된 차량 번호
+   */
+  public static String normalize(String carNumber) {
+    StringBuilder plate = new StringBuilder(carNumber.length());
+    for (int i = 0; i < carNumber.length(); i++) {
+      char c = carNumber.charAt(i);
+      if (!Character.isWhitespace(c) && c != '-') {
+        plate.append(c);
+      }
+    }
+    return plate.toString();
+  }
+
+  /**
+   * 표준 번호판을 묶은 키인지 확인합니다.
+   * 사전 등록 키는 실행할 때마다 달라질 수 있으므로 파일이나 네트워크로 내보낼 때는 원문을 함께 보내야 합니다.
+   *
+   * @param key 차량 번호 키
+   * @return 표준 번호판 키이면 true
+   */
+  public static boolean isPacked(long key) {
+    return key != EMPTY_KEY && (key & DICTIONARY_FLAG) == 0;
+  }
+
+  // 사전에 등록된 번호판 수
+  public static int getDictionarySize() {
+    synchronized (dictionaryByPlate) {
+      return dictionaryByPlate.size();
+    }
+  }
+
+  // 표준 번호판을 키로 묶기 (형식에 맞지 않으면 EMPTY_KEY)
+  private static long pack(String plate) {
+    int index = 0;
+    int region = 0;
+    for (int i = 0; i < REGIONS.length; i++) {
+      if (plate.startsWith(REGIONS[i])) {
+        region = i + 1;
+        index = REGIONS[i].length();
+        break;
+      }
+    }
+
+    // 앞자리 숫자 (1-3자리)
+    int prefixStart = index;
+    int prefix = 0;
+    while (index < plate.length() && index - prefixStart < 3 && isDigit(plate.charAt(index))) {
+      prefix = prefix * 10 + (plate.charAt(index) - '0');
+      index++;
+    }
+    int prefixLength = index - prefixStart;
+
+    // 한글 한 글자 + 일련번호 4자리
+    if (prefixLength == 0 || plate.length() != index + 5) {
+      return EMPTY_KEY;
+    }
+    char syllable = plate.charAt(index++);
+    if (syllable < FIRST_SYLLABLE || syllable > LAST_SYLLABLE) {
+      return EMPTY_KEY;
+    }
+    int serial = 0;
+    for (; index < plate.length(); index++) {
+      char c = plate.charAt(index);
+      if (!isDigit(c)) {
+        return EMPTY_KEY;
+      }
+      serial = serial * 10 + (c - '0');
+    }
+
+    return ((long) region << REGION_SHIFT)
+        | ((long) prefixLength << PREFIX_LENGTH_SHIFT)
+        | ((long) prefix << PREFIX_SHIFT)
+        | ((long) (syllable - FIRST_SYLLABLE) << SYLLABLE_SHIFT)
+        | ((long) serial << SERIAL_SHIFT);
+  }
+
+  // 형식에 맞지 않는 번호판을 사전에 등록하고 키 반환
+  private static long intern(String plate) {
+    synchronized (dictionaryByPlate) {
+      DictionaryEntry entry = dictionaryByPlate.get(plate);
+      if (entry != null) {
+        // 참조가 없던 항목도 다음 정리까지는 남도록 세대 갱신 (encode 후 retain 전에 정리되지 않게 함)
+        entry.generation = generation;
+      } else {
+        if (++insertsSinceSweep >= SWEEP_INTERVAL) {
+          sweep();
+        }
+        entry = new DictionaryEntry(DICTIONARY_FLAG | nextDictionaryId++, plate, generation);
+        dictionaryByPlate.put(plate, entry);
+        dictionaryByKey.put(entry.key, entry);
+      }
+      return entry.key;
+    }
+  }
+
+  // 직전 정리 이전에 등록되었고 참조가 없는 항목 제거 (dictionaryByPlate 락을 잡은 상태에서 호출)
+  private static void sweep() {
+    Iterator<DictionaryEntry> iterator = dictionaryByPlate.values().iterator();
+    while (iterator.hasNext()) {
+      DictionaryEntry entry = iterator.next();
+      if (entry.references == 0 && entry.generation < generation) {
+        iterator.remove();
+        dictionaryByKey.remove(entry.key);
+      }
+    }
+    generation++;
+    insertsSinceSweep = 0;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static void appendPadded(StringBuilder builder, int value, int width) {
+    String digits = Integer.toString(value);
+    for (int i = digits.length(); i < width; i++) {
+      builder.append('0');
+    }
+    builder.append(digits);
+  }
+}
@@ -0,0 +1,121 @@
+package com.emart.parking.util;
+
+/**
+ * 차량 번호 키(long)로 값을 찾는 해시 색인
+ * 키를 박싱하지 않도록 배열 기반 개방 주소법(선형 탐사)을 사용하며, 동기화는 호출하는 쪽에서 처리한다.
+ *
+ * @param <V> 값 타입
+ */
+public class PlateIndex<V> {
+  private static final int DEFAULT_CAPACITY = 64;
+  private static final long MIX = 0x9E3779B97F4A7C15L; // 키 분산용 상수
+
+  private long[] keys; // PlateCodec.EMPTY_KEY이면 빈 칸
+  private V[] values;
+  private int size;
+
+  public PlateIndex() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  @SuppressWarnings("unchecked")
+  public PlateIndex(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2) - 1) << 1;
+    this.keys = new long[capacity];
+    this.values = (V[]) new Object[capacity];
+  }
+
+  // 키에 해당하는 값 조회 (없으면 null)
+  public V get(long key) {
+    int slot = findSlot(key);
+    return keys[slot] == key ? values[slot] : null;
+  }
+
+  // 값 등록 (기존 값이 있으면 교체하고 반환)
+  public V put(long key, V value) {
+    if (key == PlateCodec.EMPTY_KEY) {
+      throw new IllegalArgumentException("빈 차량 번호는 색인할 수 없습니다.");
+    }
+    int slot = findSlot(key);
+    if (keys[slot] == key) {
+      V previous = values[slot];
+      values[slot] = value;
+      return previous;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size * 2 > keys.length) {
+      resize(keys.length * 2);
+    }
+    return null;
+  }
+
+  // 값 삭제 (삭제된 값 반환)
+  public V remove(long key) {
+    if (key == PlateCodec.EMPTY_KEY) {
+      return null; // 빈 칸과 구별할 수 없으므로 색인되지 않은 키로 처리
+    }
+    int slot = findSlot(key);
+    if (keys[slot] != key) {
+      return null;
+    }
+    V removed = values[slot];
+    deleteSlot(slot);
+    size--;
+    return removed;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  // 키가 있는 칸 또는 키를 넣을 빈 칸 찾기
+  private int findSlot(long key) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (keys[slot] != PlateCodec.EMPTY_KEY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  // 칸을 비우고 뒤따르는 항목을 당겨 탐사 경로가 끊기지 않게 함
+  private void deleteSlot(int slot) {
+    int mask = keys.length - 1;
+    int next = (slot + 1) & mask;
+    while (keys[next] != PlateCodec.EMPTY_KEY) {
+      int home = hash(keys[next]) & mask;
+      // home이 (slot, next] 구간 밖이면 slot으로 옮겨도 탐사 경로가 유지됨
+      boolean movable = slot <= next ? (home <= slot || home > next) : (home <= slot && home > next);
+      if (movable) {
+        keys[slot] = keys[next];
+        values[slot] = values[next];
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[slot] = PlateCodec.EMPTY_KEY;
+    values[slot] = null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    V[] oldValues = values;
+    keys = new long[capacity];
+    values = (V[]) new Object[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != PlateCodec.EMPTY_KEY) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int hash(long key) {
+    long mixed = key * MIX;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
@@ -0,0 +1,85 @@
+package com.emart.parking.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.emart.parking.storage.RetentionPolicy;
+import com.emart.parking.util.PlateCodec;
+
+class ParkingLotAllocationTest {
+  private static final int WARMUP_ROUNDS = 30;
+  private static final int MEASURED_ROUNDS = 100;
+  // 측정 구간 전체에서 허용하는 할당량 (출차 한 번당 1바이트 미만)
+  private static final long MAX_ALLOCATED_BYTES = 4 * 1024;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void recordExitDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threadBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    ParkingLot parkingLot = new ParkingLot(new RetentionPolicy(1, tempDir));
+    int[][] spaces = allSpaces(parkingLot);
+    long[] plateKeys = new long[spaces.length];
+    for (int i = 0; i < spaces.length; i++) {
+      plateKeys[i] = PlateCodec.encode(String.format("%02d가%04d", 10 + i, i));
+    }
+
+    long exitMillis = System.currentTimeMillis();
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      parkAll(parkingLot, spaces, plateKeys, exitMillis);
+      exitAll(parkingLot, spaces, exitMillis);
+    }
+
+    long threadId = Thread.currentThread().getId();
+    long allocated = 0;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      // 입차는 측정하지 않음 (출차 경로만 측정)
+      parkAll(parkingLot, spaces, plateKeys, exitMillis);
+      long before = threadBean.getThreadAllocatedBytes(threadId);
+      exitAll(parkingLot, spaces, exitMillis);
+      allocated += threadBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    int exits = MEASURED_ROUNDS * spaces.length;
+    assertEquals((long) (WARMUP_ROUNDS + MEASURED_ROUNDS) * spaces.length, parkingLot.getParkingRecordCount());
+    assertTrue(allocated < MAX_ALLOCATED_BYTES, allocated + " bytes allocated for " + exits + " exits");
+  }
+
+  // 모든 주차 공간의 (층, 번호) 목록
+  private static int[][] allSpaces(ParkingLot parkingLot) {
+    ParkingLotSnapshot snapshot = parkingLot.getSnapshot();
+    List<int[]> spaces = new ArrayList<>();
+    for (int floor : snapshot.getFloorList()) {
+      for (ParkingSpaceSnapshot space : snapshot.getParkingSpacesByFloor(floor)) {
+        spaces.add(new int[] { space.getFloor(), space.getSpaceNumber() });
+      }
+    }
+    return spaces.toArray(new int[0][]);
+  }
+
+  private static void parkAll(ParkingLot parkingLot, int[][] spaces, long[] plateKeys, long parkingStartMillis) {
+    for (int i = 0; i < spaces.length; i++) {
+      assertTrue(parkingLot.parkCar(spaces[i][0], spaces[i][1], plateKeys[i], parkingStartMillis - 60 * 60 * 1000));
+    }
+  }
+
+  private static void exitAll(ParkingLot parkingLot, int[][] spaces, long exitMillis) {
+    for (int i = 0; i < spaces.length; i++) {
+      parkingLot.recordExit(spaces[i][0], spaces[i][1], exitMillis);
+    }
+  }
+}
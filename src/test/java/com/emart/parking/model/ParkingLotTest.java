@@ -0,0 +1,150 @@
+package com.emart.parking.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.emart.parking.storage.RetentionPolicy;
+import com.emart.parking.util.PlateCodec;
+
+class ParkingLotTest {
+  private static final int SWEEP_INTERVAL = 1024; // PlateCodec의 사전 정리 주기
+  private static final int WRITERS = 4;
+  private static final int ROUNDS = 2_000;
+  private static final long BASE_MILLIS = 1_700_000_000_000L;
+
+  @TempDir
+  Path tempDir;
+
+  private ParkingLot parkingLot;
+
+  @BeforeEach
+  void setUp() {
+    parkingLot = new ParkingLot(new RetentionPolicy(1, tempDir));
+  }
+
+  @AfterEach
+  void tearDown() {
+    parkingLot.close();
+  }
+
+  @Test
+  void sweptPlateKeyLeavesLotUnchanged() {
+    long swept = PlateCodec.encode("정리될차량-0001");
+    // 정리가 두 번 돌면 참조 없는 항목은 반드시 정리됨
+    for (int i = 0; i < SWEEP_INTERVAL * 2; i++) {
+      PlateCodec.encode("주차장시험차량-" + i);
+    }
+    assertNull(PlateCodec.decode(swept));
+    long now = System.currentTimeMillis();
+
+    assertThrows(IllegalStateException.class, () -> parkingLot.parkCar(4, 1, swept, now));
+    assertThrows(IllegalStateException.class, () -> parkingLot.reserveSpace(4, 2, swept, now + 60_000));
+
+    assertFalse(parkingLot.getParkingSpaceSnapshot(4, 1).isOccupied());
+    assertFalse(parkingLot.getParkingSpaceSnapshot(4, 2).isReserved());
+    assertEquals(0, parkingLot.getReservations().size());
+    // 상태가 바뀌지 않았으므로 빈 공간 배정은 그대로 첫 공간부터
+    ParkingSpaceSnapshot assigned = parkingLot.parkCarAtFreeSpace("12가3456");
+    assertNotNull(assigned);
+    assertEquals(4, assigned.getFloor());
+    assertEquals(1, assigned.getSpaceNumber());
+  }
+
+  @Test
+  void snapshotsStayConsistentAndCurrentUnderConcurrentParking() throws InterruptedException {
+    AtomicBoolean writing = new AtomicBoolean(true);
+    ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+
+    // 작성자마다 자기 공간에 입출차를 반복 (번호판의 일련번호와 입차 시각이 짝을 이룸)
+    for (int w = 0; w < WRITERS; w++) {
+      int spaceNumber = w + 1;
+      threads.add(new Thread(() -> {
+        await(start);
+        for (int round = 0; round < ROUNDS; round++) {
+          long plateKey = PlateCodec.encode(plateOf(spaceNumber, round));
+          parkingLot.parkCar(4, spaceNumber, plateKey, BASE_MILLIS + round);
+          // 입차가 끝난 뒤의 조회는 그 입차를 반드시 봄 (오래된 스냅샷 금지)
+          ParkingSpaceSnapshot seen = parkingLot.getParkingSpaceSnapshot(4, spaceNumber);
+          if (!seen.isOccupied() || seen.getPlateKey() != plateKey) {
+            failures.add("입차 후 조회가 이전 상태: " + seen);
+          }
+          parkingLot.recordExit(4, spaceNumber, BASE_MILLIS + round + 1);
+          if (parkingLot.getParkingSpaceSnapshot(4, spaceNumber).isOccupied()) {
+            failures.add("출차 후 조회가 이전 상태: 4-" + spaceNumber);
+          }
+        }
+      }));
+    }
+    // 조회 쪽은 스냅샷 안의 공간마다 점유 여부, 번호판, 입차 시각이 서로 맞는지 확인
+    threads.add(new Thread(() -> {
+      await(start);
+      while (writing.get()) {
+        for (ParkingSpaceSnapshot space : parkingLot.getParkingSpacesByFloor(4)) {
+          String problem = inconsistency(space);
+          if (problem != null) {
+            failures.add(problem);
+          }
+        }
+      }
+    }));
+
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    start.countDown();
+    for (int i = 0; i < WRITERS; i++) {
+      threads.get(i).join(TimeUnit.SECONDS.toMillis(30));
+    }
+    writing.set(false);
+    threads.get(WRITERS).join(TimeUnit.SECONDS.toMillis(30));
+
+    assertTrue(failures.isEmpty(), () -> failures.size() + "건, 예: " + failures.peek());
+    assertEquals(0, parkingLot.getTotalStatistics().get("사용중"));
+  }
+
+  // 스냅샷 공간의 필드가 같은 시점의 값인지 확인 (맞으면 null)
+  private static String inconsistency(ParkingSpaceSnapshot space) {
+    if (!space.isOccupied()) {
+      boolean empty = space.getPlateKey() == PlateCodec.EMPTY_KEY && space.getParkingStartMillis() == 0
+          && space.getParkingStartTime() == null;
+      return empty ? null : "빈 공간에 차량 정보가 남음: " + space;
+    }
+    if (space.getSpaceNumber() > WRITERS || space.getParkingStartTime() == null) {
+      return "점유 공간의 입차 정보가 비어 있음: " + space;
+    }
+    long round = space.getParkingStartMillis() - BASE_MILLIS;
+    String expected = PlateCodec.normalize(plateOf(space.getSpaceNumber(), (int) round));
+    return expected.equals(space.getCarNumber()) ? null : "번호판과 입차 시각이 어긋남: " + space;
+  }
+
+  private static String plateOf(int spaceNumber, int round) {
+    return String.format("%02d가%04d", 10 + spaceNumber, round);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
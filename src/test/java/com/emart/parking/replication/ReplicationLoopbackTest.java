@@ -0,0 +1,239 @@
+package com.emart.parking.replication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.emart.parking.model.ParkingLot;
+import com.emart.parking.model.ParkingLotSnapshot;
+import com.emart.parking.model.ParkingSpaceSnapshot;
+import com.emart.parking.model.Reservation;
+import com.emart.parking.storage.RetentionPolicy;
+import com.emart.parking.util.PlateCodec;
+
+class ReplicationLoopbackTest {
+  private static final int LOG_CAPACITY = 64;
+  private static final long TIMEOUT_MILLIS = 30 * 1000;
+
+  @TempDir
+  Path tempDir;
+
+  private ParkingLot primaryLot;
+  private ParkingLot followerLot;
+  private ReplicationPrimary primary;
+  private ReplicationFollower follower;
+
+  @BeforeEach
+  void setUp() {
+    primaryLot = new ParkingLot(new RetentionPolicy(1, tempDir.resolve("primary")));
+    followerLot = new ParkingLot(new RetentionPolicy(1, tempDir.resolve("follower")));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (follower != null) {
+      follower.stop();
+    }
+    if (primary != null) {
+      primary.close();
+    }
+    primaryLot.close();
+    followerLot.close();
+  }
+
+  @Test
+  void replicatesSnapshotEventsAndResnapshotsAfterOverrun() throws IOException {
+    // 접속 전 상태는 스냅샷으로 전달
+    assertTrue(primaryLot.parkCar(4, 1, "12가3456"));
+    assertTrue(primaryLot.parkCar(4, 2, "임시번호판77"));
+    assertTrue(primaryLot.parkCar(5, 3, "34나5678"));
+    primary = new ReplicationPrimary(primaryLot, 0, LOG_CAPACITY);
+    follower = new ReplicationFollower(followerLot, "127.0.0.1", primary.getPort());
+    awaitInSync();
+    assertEquals(3, occupiedSpaces(followerLot).size());
+
+    // 이후 입출차는 이벤트로 전달
+    assertTrue(primaryLot.parkCar(6, 1, "56다7890"));
+    assertTrue(primaryLot.recordExit(4, 2) >= 0);
+    awaitInSync();
+    assertEquals(1, followerLot.getParkingRecordCount());
+
+    // 대기 서버가 이벤트를 적용하지 못하는 동안 로그가 한 바퀴 넘게 돌면 연결을 끊고 스냅샷부터 다시 받음
+    ReplicationPrimary.FollowerConnection firstConnection = primary.getFollowers().get(0);
+    synchronized (followerLot) {
+      // 소켓 버퍼가 차서 전송 스레드가 멈출 때까지 이벤트 생성
+      long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+      long lastSent = -1;
+      long stalledSince = 0;
+      while (true) {
+        generateEvents(100);
+        long sent = firstConnection.getSentSequence();
+        long now = System.currentTimeMillis();
+        if (sent != lastSent) {
+          lastSent = sent;
+          stalledSince = now;
+        } else if (now - stalledSince > 200) {
+          break;
+        }
+        if (now > deadline) {
+          fail("전송 스레드가 멈추지 않았습니다.");
+        }
+      }
+      generateEvents(LOG_CAPACITY);
+      assertTrue(primaryLot.parkCar(6, 2, "78라1234"));
+    }
+
+    await(() -> !primary.getFollowers().contains(firstConnection));
+    awaitInSync();
+    assertFalse(primary.getFollowers().contains(firstConnection));
+    assertEquals("78라1234", occupiedSpaces(followerLot).get("6-2"));
+  }
+
+  @Test
+  void stopsApplyingEventsAfterStop() throws IOException {
+    primary = new ReplicationPrimary(primaryLot, 0, LOG_CAPACITY);
+    follower = new ReplicationFollower(followerLot, "127.0.0.1", primary.getPort());
+    awaitInSync();
+
+    follower.stop();
+    assertTrue(primaryLot.parkCar(4, 1, "12가3456"));
+    assertTrue(primaryLot.parkCar(4, 2, "34나5678"));
+
+    // 중단한 뒤의 이벤트는 적용되지 않음
+    assertTrue(occupiedSpaces(followerLot).isEmpty());
+    assertFalse(follower.isConnected());
+  }
+
+  @Test
+  void reconnectsAfterApplyFailure() throws IOException {
+    // 첫 입차 이벤트 적용이 실패하는 대기 서버 주차장
+    AtomicBoolean failNext = new AtomicBoolean(true);
+    followerLot.close();
+    followerLot = new ParkingLot(new RetentionPolicy(1, tempDir.resolve("failing"))) {
+      @Override
+      public synchronized boolean parkCar(int floor, int spaceNumber, long plateKey, long parkingStartMillis) {
+        if (failNext.getAndSet(false)) {
+          throw new IllegalStateException("적용 실패 시험");
+        }
+        return super.parkCar(floor, spaceNumber, plateKey, parkingStartMillis);
+      }
+    };
+    primary = new ReplicationPrimary(primaryLot, 0, LOG_CAPACITY);
+    follower = new ReplicationFollower(followerLot, "127.0.0.1", primary.getPort());
+    awaitInSync();
+
+    // 수신 스레드가 끝나지 않고 다시 접속해 스냅샷으로 상태를 맞춤
+    assertTrue(primaryLot.parkCar(4, 1, "12가3456"));
+    awaitInSync();
+    assertFalse(failNext.get());
+    assertEquals("12가3456", occupiedSpaces(followerLot).get("4-1"));
+
+    assertTrue(primaryLot.parkCar(4, 2, "34나5678"));
+    awaitInSync();
+    assertEquals(2, occupiedSpaces(followerLot).size());
+  }
+
+  @Test
+  void replicatesReservationsAndKeepsThemAfterStop() throws IOException {
+    // 접속 전 예약은 스냅샷으로 전달
+    long holdUntil = System.currentTimeMillis() + 60 * 60 * 1000;
+    Reservation early = primaryLot.reserveSpace(4, 1, PlateCodec.encode("12가3456"), holdUntil);
+    assertNotNull(early);
+    primary = new ReplicationPrimary(primaryLot, 0, LOG_CAPACITY);
+    follower = new ReplicationFollower(followerLot, "127.0.0.1", primary.getPort());
+    awaitInSync();
+    assertEquals(reservedSpaces(primaryLot), reservedSpaces(followerLot));
+
+    // 이후 예약, 취소, 예약 사용은 이벤트로 전달
+    Reservation cancelled = primaryLot.reserveSpace(4, 2, PlateCodec.encode("예약취소차량5"), holdUntil);
+    Reservation kept = primaryLot.reserveSpace(5, 1, PlateCodec.encode("34나5678"), holdUntil);
+    assertNotNull(cancelled);
+    assertNotNull(kept);
+    assertTrue(primaryLot.cancelReservation(cancelled.getId()));
+    assertNotNull(primaryLot.parkCarAtFreeSpace("12가3456"));
+    awaitInSync();
+    assertEquals(Map.of("5-1", kept.getId() + ":34나5678"), reservedSpaces(followerLot));
+    assertEquals("12가3456", occupiedSpaces(followerLot).get("4-1"));
+
+    // 승격된 대기 서버는 같은 예약 번호로 공간을 계속 잡아 둠
+    follower.stop();
+    assertFalse(followerLot.parkCar(5, 1, "56다7890"));
+    assertEquals(kept.getId(), followerLot.getParkingSpaceSnapshot(5, 1).getReservation().getId());
+    assertTrue(followerLot.cancelReservation(kept.getId()));
+    Reservation next = followerLot.reserveFreeSpace(PlateCodec.encode("78라1234"), holdUntil);
+    assertTrue(next.getId() > kept.getId());
+  }
+
+  // 같은 공간에 입차와 출차를 반복해 이벤트 생성 (한 번에 이벤트 2개)
+  private void generateEvents(int pairs) {
+    for (int i = 0; i < pairs; i++) {
+      assertTrue(primaryLot.parkCar(5, 25, "99하9999"));
+      assertTrue(primaryLot.recordExit(5, 25) >= 0);
+    }
+  }
+
+  // 대기 서버가 주 서버의 모든 이벤트를 적용하고 점유 상태가 같아질 때까지 대기
+  private void awaitInSync() {
+    await(() -> follower.isConnected() && follower.getAppliedSequence() == primary.getEventCount()
+        && occupiedSpaces(followerLot).equals(occupiedSpaces(primaryLot))
+        && reservedSpaces(followerLot).equals(reservedSpaces(primaryLot)));
+  }
+
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("제한 시간 안에 조건을 만족하지 못했습니다.");
+      }
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail("대기 중 인터럽트되었습니다.");
+      }
+    }
+  }
+
+  // "층-자리" → "예약 번호:차량 번호" (예약된 공간만)
+  private static Map<String, String> reservedSpaces(ParkingLot parkingLot) {
+    Map<String, String> reserved = new TreeMap<>();
+    ParkingLotSnapshot snapshot = parkingLot.getSnapshot();
+    for (int floor : snapshot.getFloorList()) {
+      for (ParkingSpaceSnapshot space : snapshot.getParkingSpacesByFloor(floor)) {
+        if (space.isReserved()) {
+          Reservation reservation = space.getReservation();
+          reserved.put(floor + "-" + space.getSpaceNumber(), reservation.getId() + ":" + reservation.getCarNumber());
+        }
+      }
+    }
+    return reserved;
+  }
+
+  // "층-자리" → 차량 번호 (점유된 공간만)
+  private static Map<String, String> occupiedSpaces(ParkingLot parkingLot) {
+    Map<String, String> occupied = new TreeMap<>();
+    ParkingLotSnapshot snapshot = parkingLot.getSnapshot();
+    for (int floor : snapshot.getFloorList()) {
+      for (ParkingSpaceSnapshot space : snapshot.getParkingSpacesByFloor(floor)) {
+        if (space.isOccupied()) {
+          occupied.put(floor + "-" + space.getSpaceNumber(), space.getCarNumber());
+        }
+      }
+    }
+    return occupied;
+  }
+}
@@ -0,0 +1,195 @@
+package com.emart.parking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.emart.parking.model.ParkingLot;
+import com.emart.parking.model.ParkingRecord;
+import com.emart.parking.storage.RetentionPolicy;
+import com.emart.parking.util.CsvExporter;
+import com.emart.parking.util.PlateCodec;
+
+class ParkingServiceExportTest {
+  private static final long TIMEOUT_MILLIS = 10 * 1000;
+
+  @TempDir
+  Path tempDir;
+
+  private ParkingLot parkingLot;
+  private ParkingService parkingService;
+
+  @AfterEach
+  void tearDown() {
+    if (parkingService != null) {
+      parkingService.shutdown();
+    }
+  }
+
+  @Test
+  void cancelDuringWriteDeletesFileAndStaysCancelled() throws InterruptedException {
+    PausingCsvExporter exporter = new PausingCsvExporter();
+    start(exporter);
+    addRecords("12가3456", LocalDate.now(), 3);
+    Path output = tempDir.resolve("records.csv");
+
+    ExportJob job = parkingService.submitExport(output.toString(), false);
+    assertTrue(exporter.started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    assertTrue(Files.exists(output)); // 작성 중인 파일
+
+    assertTrue(job.cancel());
+    exporter.resume.countDown();
+
+    await(() -> !Files.exists(output));
+    assertEquals(ExportJob.Status.CANCELLED, job.getStatus());
+    assertFalse(job.cancel());
+    assertTrue(job.getOutputFiles().isEmpty());
+  }
+
+  @Test
+  void cancelAfterCompletionKeepsFiles() {
+    start(new CsvExporter());
+    addRecords("12가3456", LocalDate.now().minusDays(1), 2);
+    addRecords("34나5678", LocalDate.now(), 1);
+
+    ExportJob job = parkingService.submitExport(tempDir.resolve("records.csv").toString(), true);
+    await(job::isDone);
+
+    assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+    assertFalse(job.cancel());
+    assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+    assertEquals(2, job.getOutputFiles().size());
+    for (String outputFile : job.getOutputFiles()) {
+      assertTrue(Files.exists(Paths.get(outputFile)), outputFile);
+    }
+  }
+
+  @Test
+  void splitByDayWritesOneFilePerExitDay() throws IOException {
+    start(new CsvExporter());
+    LocalDate today = LocalDate.now();
+    addRecords("12가3456", today.minusDays(2), 3);
+    addRecords("34나5678", today.minusDays(1), 2);
+    addRecords("56다7890", today, 4);
+    String filePath = tempDir.resolve("records.csv").toString();
+
+    ExportJob job = parkingService.submitExport(filePath, true);
+    await(job::isDone);
+
+    assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+    assertEquals(9, job.getTotalRows());
+    assertEquals(9, job.getWrittenRows());
+    assertEquals(3, job.getOutputFiles().size());
+    assertEquals(3, countRows(CsvExporter.getDailyFilePath(filePath, today.minusDays(2))));
+    assertEquals(2, countRows(CsvExporter.getDailyFilePath(filePath, today.minusDays(1))));
+    assertEquals(4, countRows(CsvExporter.getDailyFilePath(filePath, today)));
+  }
+
+  @Test
+  void recordsAddedDuringExportAreNotWritten() throws IOException, InterruptedException {
+    PausingCsvExporter exporter = new PausingCsvExporter();
+    start(exporter);
+    addRecords("12가3456", LocalDate.now(), 3);
+    Path output = tempDir.resolve("records.csv");
+
+    ExportJob job = parkingService.submitExport(output.toString(), false);
+    assertTrue(exporter.started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    // 내보내는 동안에도 입출차 처리는 계속됨
+    for (int i = 0; i < 5; i++) {
+      assertTrue(parkingService.parkCar(6, 1, "77가7777"));
+      assertTrue(parkingService.recordExit(6, 1) >= 0);
+    }
+    exporter.resume.countDown();
+    await(job::isDone);
+
+    assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+    assertEquals(8, parkingService.getParkingRecordCount());
+    List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+    assertEquals(3, lines.size() - 1);
+    for (String line : lines) {
+      assertFalse(line.contains("77가7777"), line);
+    }
+  }
+
+  private void start(CsvExporter exporter) {
+    parkingLot = new ParkingLot(new RetentionPolicy(1, tempDir.resolve("segments")));
+    parkingService = new ParkingService(ParkingService.DEFAULT_OVERSTAY_LIMIT, parkingLot, exporter);
+  }
+
+  // 해당 날짜에 출차한 기록 추가 (출차 순서대로 호출)
+  private void addRecords(String carNumber, LocalDate exitDay, int count) {
+    long exitMillis = exitDay.equals(LocalDate.now())
+        ? System.currentTimeMillis()
+        : exitDay.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    long plateKey = PlateCodec.encode(carNumber);
+    for (int i = 0; i < count; i++) {
+      assertTrue(parkingLot.parkCar(4, 1, plateKey, exitMillis - 60 * 60 * 1000));
+      assertTrue(parkingLot.recordExit(4, 1, exitMillis) >= 0);
+    }
+  }
+
+  // 헤더를 제외한 행 수
+  private static int countRows(String filePath) throws IOException {
+    return Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8).size() - 1;
+  }
+
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("제한 시간 안에 조건을 만족하지 못했습니다.");
+      }
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail("대기 중 인터럽트되었습니다.");
+      }
+    }
+  }
+
+  // 첫 진행 보고에서 멈췄다가 resume 신호를 받으면 이어서 쓰는 내보내기 도구
+  private static final class PausingCsvExporter extends CsvExporter {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch resume = new CountDownLatch(1);
+
+    @Override
+    public boolean exportParkingRecords(Iterable<ParkingRecord> records, String filePath, ExportProgress progress) {
+      ExportProgress pausing = new ExportProgress() {
+        @Override
+        public void rowsWritten(int count) {
+          progress.rowsWritten(count);
+          started.countDown();
+          try {
+            resume.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+
+        @Override
+        public boolean isCancelled() {
+          return progress.isCancelled();
+        }
+      };
+      return super.exportParkingRecords(records, filePath, pausing);
+    }
+  }
+}
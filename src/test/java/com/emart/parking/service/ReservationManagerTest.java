@@ -0,0 +1,144 @@
+package com.emart.parking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.emart.parking.model.ParkingLot;
+import com.emart.parking.model.ParkingSpaceSnapshot;
+import com.emart.parking.model.Reservation;
+import com.emart.parking.storage.RetentionPolicy;
+
+class ReservationManagerTest {
+  private static final Duration HOLD_TIME = Duration.ofMinutes(30);
+
+  @TempDir
+  Path tempDir;
+
+  private ParkingLot parkingLot;
+  private ReservationManager reservationManager;
+
+  @BeforeEach
+  void setUp() {
+    parkingLot = new ParkingLot(new RetentionPolicy(1, tempDir));
+    reservationManager = new ReservationManager(parkingLot);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reservationManager.shutdown();
+    parkingLot.close();
+  }
+
+  @Test
+  void claimParksInReservedSpaceAndCancelsTimer() {
+    Reservation reservation = reservationManager.reserveSpace(5, 3, "12가3456", HOLD_TIME);
+    assertNotNull(reservation);
+    assertEquals(1, reservationManager.getPendingTimerCount());
+
+    ParkingSpaceSnapshot space = reservationManager.claim("12가3456");
+
+    assertNotNull(space);
+    assertEquals(5, space.getFloor());
+    assertEquals(3, space.getSpaceNumber());
+    assertTrue(space.isOccupied());
+    assertFalse(space.isReserved());
+    assertEquals("12가3456", space.getCarNumber());
+    assertEquals(0, reservationManager.getPendingTimerCount());
+    assertTrue(reservationManager.getReservations().isEmpty());
+  }
+
+  @Test
+  void claimWithoutReservationReturnsNull() {
+    assertNotNull(reservationManager.reserveSpace(5, 3, "12가3456", HOLD_TIME));
+
+    assertNull(reservationManager.claim("34나5678"));
+    assertEquals(1, reservationManager.getPendingTimerCount());
+  }
+
+  @Test
+  void cancelReleasesSpaceAndCancelsTimer() {
+    Reservation reservation = reservationManager.reserveFreeSpace("12가3456", HOLD_TIME);
+    assertNotNull(reservation);
+
+    assertTrue(reservationManager.cancel(reservation.getId()));
+
+    assertEquals(0, reservationManager.getPendingTimerCount());
+    assertFalse(reservationManager.cancel(reservation.getId()));
+    assertNull(reservationManager.claim("12가3456"));
+    assertFalse(parkingLot.getParkingSpaceSnapshot(reservation.getFloor(), reservation.getSpaceNumber()).isReserved());
+  }
+
+  @Test
+  void expiredReservationIsReleased() {
+    Reservation reservation = reservationManager.reserveSpace(4, 1, "12가3456", Duration.ofMillis(1500));
+    assertNotNull(reservation);
+
+    long deadline = System.currentTimeMillis() + 10 * 1000;
+    while (reservationManager.getPendingTimerCount() > 0) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("예약이 만료되지 않았습니다.");
+      }
+      sleep(50);
+    }
+
+    assertFalse(parkingLot.getParkingSpaceSnapshot(4, 1).isReserved());
+    assertTrue(reservationManager.getReservations().isEmpty());
+    assertNull(reservationManager.claim("12가3456"));
+    // 만료된 공간은 다시 예약할 수 있음
+    assertNotNull(reservationManager.reserveSpace(4, 1, "34나5678", HOLD_TIME));
+  }
+
+  @Test
+  void releasesOutsideManagerCancelTimers() {
+    // 자동 배정 입차가 예약을 사용
+    assertNotNull(reservationManager.reserveSpace(5, 3, "12가3456", HOLD_TIME));
+    ParkingSpaceSnapshot claimed = parkingLot.parkCarAtFreeSpace("12가3456");
+    assertNotNull(claimed);
+    assertEquals(3, claimed.getSpaceNumber());
+    assertEquals(0, reservationManager.getPendingTimerCount());
+
+    // 예약한 차량이 다른 공간에 입차
+    assertNotNull(reservationManager.reserveSpace(5, 4, "34나5678", HOLD_TIME));
+    assertTrue(parkingLot.parkCar(6, 1, "34나5678"));
+    assertFalse(parkingLot.getParkingSpaceSnapshot(5, 4).isReserved());
+    assertEquals(0, reservationManager.getPendingTimerCount());
+
+    // 만료된 예약을 새 예약이 교체 (만료 타이머가 돌기 전이어도 이전 타이머는 남지 않음)
+    assertNotNull(reservationManager.reserveSpace(4, 1, "56다7890", Duration.ofMillis(1)));
+    sleep(5);
+    Reservation replacement = reservationManager.reserveSpace(4, 1, "78라1234", HOLD_TIME);
+    assertNotNull(replacement);
+    assertEquals(1, reservationManager.getPendingTimerCount());
+    assertEquals(1, parkingLot.getReservationCount());
+  }
+
+  @Test
+  void rejectsHoldTimeOutOfRange() {
+    assertNull(reservationManager.reserveSpace(4, 1, "12가3456", Duration.ZERO));
+    assertNull(reservationManager.reserveSpace(4, 1, "12가3456", ReservationManager.MAX_HOLD_TIME.plusMinutes(1)));
+    // 밀리초로 바꾸면 오버플로가 나는 값도 예외 없이 거절
+    assertNull(reservationManager.reserveFreeSpace("12가3456", Duration.ofMinutes(Long.MAX_VALUE / 60)));
+    assertEquals(0, reservationManager.getPendingTimerCount());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      fail("대기 중 인터럽트되었습니다.");
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.emart.parking.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.emart.parking.model.ParkingRecord;
+import com.emart.parking.util.PlateCodec;
+
+class ParkingRecordStoreTest {
+  private static final LocalDate TODAY = LocalDate.now();
+  private static final LocalDate OLD_DAY = TODAY.minusDays(3);
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void rollsExpiredDaysIntoSegments() {
+    ParkingRecordStore store = new ParkingRecordStore(new RetentionPolicy(1, tempDir));
+    try {
+      addRecord(store, "12가3456", OLD_DAY);
+      addRecord(store, "임시보관차량1", OLD_DAY);
+      addRecord(store, "34나5678", TODAY);
+
+      store.roll(TODAY);
+
+      assertEquals(1, store.getSegmentCount());
+      assertEquals(1, store.getHotRecordCount());
+      assertEquals(0, store.getPendingRecordCount());
+      assertEquals(List.of("12가3456", "임시보관차량1", "34나5678"), carNumbers(store.snapshot()));
+    } finally {
+      store.close();
+    }
+  }
+
+  @Test
+  void readingSegmentsDoesNotGrowPlateDictionary() {
+    ParkingRecordStore writer = new ParkingRecordStore(new RetentionPolicy(1, tempDir));
+    addRecord(writer, "세그먼트차량2", OLD_DAY);
+    writer.roll(TODAY);
+    writer.close();
+
+    ParkingRecordStore reader = new ParkingRecordStore(new RetentionPolicy(1, tempDir));
+    try {
+      int dictionarySize = PlateCodec.getDictionarySize();
+      assertEquals(List.of("세그먼트차량2"), carNumbers(reader.snapshot()));
+      assertEquals(dictionarySize, PlateCodec.getDictionarySize());
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test
+  void keepsUnwrittenDaysReadable() throws IOException {
+    // 디렉터리 자리에 파일이 있어 세그먼트 저장이 실패하는 경우
+    Path blocked = Files.createFile(tempDir.resolve("blocked"));
+    ParkingRecordStore store = new ParkingRecordStore(new RetentionPolicy(1, blocked));
+    try {
+      addRecord(store, "12가3456", OLD_DAY);
+      addRecord(store, "34나5678", TODAY);
+
+      store.roll(TODAY);
+
+      assertEquals(0, store.getSegmentCount());
+      assertEquals(1, store.getPendingRecordCount());
+      ParkingRecordSnapshot snapshot = store.snapshot();
+      assertEquals(2, snapshot.size());
+      assertEquals(List.of("12가3456"), carNumbers(snapshot.getRecords(OLD_DAY, OLD_DAY)));
+      assertEquals(List.of("12가3456", "34나5678"), carNumbers(snapshot));
+    } finally {
+      store.close();
+    }
+  }
+
+  @Test
+  void keepsRecentRecordsAcrossRestart() throws IOException {
+    RetentionPolicy policy = new RetentionPolicy(7, tempDir);
+    ParkingRecordStore first = new ParkingRecordStore(policy);
+    addRecord(first, "12가3456", TODAY.minusDays(1));
+    addRecord(first, "재시작보관차량3", TODAY);
+    first.close();
+
+    // 종료할 때 저장한 최근 기록을 다시 메모리 기록으로 읽음
+    ParkingRecordStore second = new ParkingRecordStore(policy);
+    assertEquals(2, second.getHotRecordCount());
+    assertEquals(0, second.getSegmentCount());
+    assertEquals(List.of("12가3456", "재시작보관차량3"), carNumbers(second.snapshot().getHotRecords()));
+    addRecord(second, "34나5678", TODAY);
+    second.close();
+
+    // 다시 읽었던 파일은 새 세그먼트로 바뀌므로 기록이 중복되지 않음
+    ParkingRecordStore third = new ParkingRecordStore(policy);
+    try {
+      assertEquals(List.of("12가3456", "재시작보관차량3", "34나5678"), carNumbers(third.snapshot()));
+      try (Stream<Path> files = Files.list(tempDir)) {
+        assertEquals(2, files.count());
+      }
+    } finally {
+      third.close();
+    }
+  }
+
+  // 해당 날짜 정오에 출차한 기록 추가
+  private static void addRecord(ParkingRecordStore store, String carNumber, LocalDate exitDay) {
+    long exitMillis = exitDay.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    store.add(PlateCodec.encode(carNumber), 1, 1, exitMillis - 60 * 60 * 1000, exitMillis);
+  }
+
+  private static List<String> carNumbers(Iterable<ParkingRecord> records) {
+    List<String> carNumbers = new ArrayList<>();
+    for (ParkingRecord record : records) {
+      carNumbers.add(record.getCarNumber());
+    }
+    return carNumbers;
+  }
+}
@@ -0,0 +1,119 @@
+package com.emart.parking.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+  // 1ms tick, 단계별 4칸, 3단계: 0단계 4 tick, 1단계 16 tick, 2단계 64 tick 범위
+  private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 4, 3, 0);
+  private final List<String> fired = new ArrayList<>();
+
+  @Test
+  void firesTimerInLevelZero() {
+    wheel.schedule("a", 3);
+
+    wheel.advanceTo(2, fired::add);
+    assertTrue(fired.isEmpty());
+    wheel.advanceTo(3, fired::add);
+    assertEquals(List.of("a"), fired);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void cascadesFromLevelOneToLevelZero() {
+    wheel.schedule("a", 6);
+
+    wheel.advanceTo(5, fired::add);
+    assertTrue(fired.isEmpty());
+    wheel.advanceTo(6, fired::add);
+    assertEquals(List.of("a"), fired);
+  }
+
+  @Test
+  void cascadesFromLevelTwoThroughLevelOne() {
+    wheel.schedule("a", 20);
+    wheel.schedule("b", 47);
+
+    wheel.advanceTo(19, fired::add);
+    assertTrue(fired.isEmpty());
+    wheel.advanceTo(20, fired::add);
+    assertEquals(List.of("a"), fired);
+    wheel.advanceTo(46, fired::add);
+    assertEquals(List.of("a"), fired);
+    wheel.advanceTo(47, fired::add);
+    assertEquals(List.of("a", "b"), fired);
+  }
+
+  @Test
+  void firesTimerBeyondWheelRangeAtItsDeadline() {
+    wheel.schedule("far", 200);
+
+    wheel.advanceTo(199, fired::add);
+    assertTrue(fired.isEmpty());
+    wheel.advanceTo(200, fired::add);
+    assertEquals(List.of("far"), fired);
+  }
+
+  @Test
+  void firesEveryDeadlineExactlyOnceAtItsTick() {
+    for (int deadline = 1; deadline <= 100; deadline++) {
+      wheel.schedule(Integer.toString(deadline), deadline);
+    }
+    for (int now = 1; now <= 100; now++) {
+      wheel.advanceTo(now, fired::add);
+      assertEquals(now, fired.size());
+      assertEquals(Integer.toString(now), fired.get(now - 1));
+    }
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void cancelledTimerDoesNotFire() {
+    HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", 10);
+    wheel.schedule("b", 10);
+
+    assertTrue(timeout.cancel());
+    assertFalse(timeout.cancel());
+    assertEquals(1, wheel.size());
+
+    wheel.advanceTo(10, fired::add);
+    assertEquals(List.of("b"), fired);
+  }
+
+  @Test
+  void cancelsTimerAfterItCascadedToLowerLevel() {
+    HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", 20);
+
+    wheel.advanceTo(17, fired::add); // 2단계 -> 1단계 -> 0단계로 재배치된 상태
+    assertTrue(timeout.cancel());
+    wheel.advanceTo(30, fired::add);
+    assertTrue(fired.isEmpty());
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void cannotCancelExpiredTimer() {
+    HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", 2);
+
+    wheel.advanceTo(2, fired::add);
+    assertFalse(timeout.cancel());
+    assertEquals(List.of("a"), fired);
+  }
+
+  @Test
+  void pastDeadlineFiresOnNextTick() {
+    wheel.advanceTo(10, fired::add);
+    wheel.schedule("late", 5);
+
+    wheel.advanceTo(10, fired::add);
+    assertTrue(fired.isEmpty());
+    wheel.advanceTo(11, fired::add);
+    assertEquals(List.of("late"), fired);
+  }
+}
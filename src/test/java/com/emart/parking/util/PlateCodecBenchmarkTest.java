@@ -0,0 +1,126 @@
+package com.emart.parking.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * PlateCodec 성능 측정 (JMH 대신 테스트 범위의 간단한 측정기)
+ * 실제 번호판 분포에 가깝게 섞은 번호판으로 초당 변환 수와, 주차 중인 차량을 색인할 때의
+ * 메모리 사용량을 문자열 기반 색인(HashMap&lt;String, ...&gt;)과 비교해 출력한다.
+ */
+class PlateCodecBenchmarkTest {
+  private static final int PLATE_COUNT = 200_000;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  @Test
+  void reportsEncodeThroughputAndIndexMemory() {
+    String[] plates = realisticPlates(PLATE_COUNT, new Random(7));
+
+    // 변환 속도: 워밍업 후 측정 구간의 최고 속도
+    long checksum = 0;
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      checksum += encodeAll(plates);
+    }
+    long bestNanos = Long.MAX_VALUE;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long start = System.nanoTime();
+      checksum += encodeAll(plates);
+      bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+    }
+    double encodesPerSecond = PLATE_COUNT * 1_000_000_000.0 / bestNanos;
+
+    // 메모리: 주차 중인 차량 색인 (번호판 → 값)
+    long packedBytes = retainedBytes(() -> {
+      PlateIndex<Object> index = new PlateIndex<>();
+      for (String plate : plates) {
+        index.put(PlateCodec.encode(plate), Boolean.TRUE);
+      }
+      return index;
+    });
+    long stringBytes = retainedBytes(() -> {
+      Map<String, Object> index = new HashMap<>();
+      for (String plate : plates) {
+        // 입력 문자열과 별도로 보관되는 정규화된 번호판 (문자열 기반 설계에서 색인이 들고 있는 값)
+        index.put(PlateCodec.normalize(plate), Boolean.TRUE);
+      }
+      return index;
+    });
+
+    System.out.printf("PlateCodec.encode: %,.0f회/초 (번호판 %,d개, checksum %d)%n",
+        encodesPerSecond, PLATE_COUNT, checksum);
+    System.out.printf("색인 메모리: PlateIndex(long 키) %,d바이트 (%.1f바이트/대), HashMap<String> %,d바이트 (%.1f바이트/대)%n",
+        packedBytes, (double) packedBytes / PLATE_COUNT, stringBytes, (double) stringBytes / PLATE_COUNT);
+    System.out.printf("키 하나: long 8바이트, 번호판 문자열 약 %d바이트 (String + byte[])%n", stringSize(plates[0]));
+
+    // 측정 환경에 따라 값이 달라지므로 크게 어긋난 경우만 실패로 처리
+    assertTrue(encodesPerSecond > 100_000, "encodes/s=" + encodesPerSecond);
+    assertTrue(packedBytes < stringBytes, "packed=" + packedBytes + ", string=" + stringBytes);
+  }
+
+  // 표준 번호판 90%, 구형 지역 번호판 5%, 형식에 맞지 않는 번호판(사전 등록) 5%
+  private static String[] realisticPlates(int count, Random random) {
+    String[] regions = { "서울", "부산", "경기", "대전", "충남" };
+    String syllables = "가나다라마거너더러머버서어저고노도로모보소오조구누두루무부수우주하허호배";
+    String[] plates = new String[count];
+    for (int i = 0; i < count; i++) {
+      int kind = random.nextInt(100);
+      char syllable = syllables.charAt(random.nextInt(syllables.length()));
+      String serial = String.format("%04d", random.nextInt(10_000));
+      if (kind < 60) {
+        plates[i] = String.format("%02d", 10 + random.nextInt(90)) + syllable + serial;
+      } else if (kind < 90) {
+        plates[i] = (100 + random.nextInt(900)) + String.valueOf(syllable) + serial;
+      } else if (kind < 95) {
+        plates[i] = regions[random.nextInt(regions.length)] + (10 + random.nextInt(90)) + syllable + serial;
+      } else {
+        plates[i] = "임시" + (100_000 + i);
+      }
+    }
+    return plates;
+  }
+
+  private static long encodeAll(String[] plates) {
+    long checksum = 0;
+    for (String plate : plates) {
+      checksum += PlateCodec.encode(plate);
+    }
+    return checksum;
+  }
+
+  // 구조를 만든 뒤 GC 후에도 남아 있는 힙 크기 (세 번 측정해 가장 작은 값)
+  private static long retainedBytes(java.util.function.Supplier<Object> builder) {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    long best = Long.MAX_VALUE;
+    for (int attempt = 0; attempt < 3; attempt++) {
+      long before = usedHeapAfterGc(memory);
+      Object structure = builder.get();
+      long after = usedHeapAfterGc(memory);
+      best = Math.min(best, after - before);
+      if (structure.hashCode() == 42) {
+        System.out.print(""); // 측정이 끝날 때까지 구조를 살려 둠
+      }
+    }
+    return best;
+  }
+
+  private static long usedHeapAfterGc(MemoryMXBean memory) {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  // 압축 문자열(Latin-1 아님)을 가정한 번호판 문자열 크기: String 24바이트 + byte[] (16바이트 + 글자당 2바이트, 8바이트 정렬)
+  private static int stringSize(String plate) {
+    int arrayBytes = 16 + plate.length() * 2;
+    return 24 + ((arrayBytes + 7) / 8) * 8;
+  }
+}
@@ -0,0 +1,125 @@
+package com.emart.parking.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PlateCodecTest {
+  private static final int SWEEP_INTERVAL = 1024; // PlateCodec의 사전 정리 주기
+
+  @Test
+  void packsStandardPlatesAcrossBitFields() {
+    String[] plates = {
+        "1가0000", // 앞자리 1자리
+        "12가3456", // 앞자리 2자리
+        "123가4567", // 앞자리 3자리
+        "00가0000", // 앞자리 값 0
+        "999힣9999", // 앞자리, 한글, 일련번호 최댓값
+        "서울12가3456", // 첫 번째 지역
+        "제주999힣9999" // 마지막 지역과 모든 필드 최댓값
+    };
+    for (String plate : plates) {
+      long key = PlateCodec.encode(plate);
+      assertTrue(PlateCodec.isPacked(key), plate);
+      assertEquals(plate, PlateCodec.decode(key));
+    }
+  }
+
+  @Test
+  void keepsPrefixLengthForLeadingZeros() {
+    long twoDigits = PlateCodec.encode("12가3456");
+    long threeDigits = PlateCodec.encode("012가3456");
+
+    assertNotEquals(twoDigits, threeDigits);
+    assertEquals("012가3456", PlateCodec.decode(threeDigits));
+  }
+
+  @Test
+  void distinguishesRegionFromNoRegion() {
+    long withoutRegion = PlateCodec.encode("12가3456");
+    long withRegion = PlateCodec.encode("서울12가3456");
+
+    assertNotEquals(withoutRegion, withRegion);
+    assertEquals("서울12가3456", PlateCodec.decode(withRegion));
+  }
+
+  @Test
+  void normalizesSpacesAndHyphens() {
+    assertEquals(PlateCodec.encode("12가3456"), PlateCodec.encode(" 12 가-3456 "));
+  }
+
+  @Test
+  void fallsBackToDictionaryForNonStandardPlates() {
+    String[] plates = { "외교123-456", "1234가5678", "12가345", "12A3456", "가3456" };
+    for (String plate : plates) {
+      long key = PlateCodec.encode(plate);
+      assertFalse(PlateCodec.isPacked(key), plate);
+      assertNotEquals(PlateCodec.EMPTY_KEY, key);
+      assertEquals(key, PlateCodec.encode(plate));
+      assertEquals(PlateCodec.normalize(plate), PlateCodec.decode(key));
+    }
+  }
+
+  @Test
+  void emptyPlateMapsToEmptyKey() {
+    assertEquals(PlateCodec.EMPTY_KEY, PlateCodec.encode(null));
+    assertEquals(PlateCodec.EMPTY_KEY, PlateCodec.encode(" - "));
+    assertNull(PlateCodec.decode(PlateCodec.EMPTY_KEY));
+  }
+
+  @Test
+  void findDoesNotRegisterUnknownPlates() {
+    int size = PlateCodec.getDictionarySize();
+
+    assertEquals(PlateCodec.EMPTY_KEY, PlateCodec.find("조회전용-0001"));
+    assertEquals(size, PlateCodec.getDictionarySize());
+    assertEquals(PlateCodec.encode("12가3456"), PlateCodec.find("12가3456"));
+  }
+
+  @Test
+  void dictionaryStaysBoundedAndKeepsRetainedPlates() {
+    long retained = PlateCodec.encode("보관차량-0001");
+    PlateCodec.retain(retained);
+    long dropped = PlateCodec.encode("정리차량-0001");
+
+    for (int i = 0; i < 20_000; i++) {
+      PlateCodec.encode("임시차량-" + i);
+    }
+
+    assertTrue(PlateCodec.getDictionarySize() < 4096, "size=" + PlateCodec.getDictionarySize());
+    assertEquals("보관차량0001", PlateCodec.decode(retained));
+    // 정리된 키는 다른 번호판으로 해석되지 않고, 다시 등록하면 새 키를 받음
+    assertNull(PlateCodec.decode(dropped));
+    assertNotEquals(dropped, PlateCodec.encode("정리차량-0001"));
+    PlateCodec.release(retained);
+  }
+
+  @Test
+  void reencodedPlateSurvivesSweepUntilRetained() {
+    // 참조가 없는 채로 정리 한 번을 넘긴 오래된 항목
+    long old = PlateCodec.encode("재방문차량-0001");
+    PlateCodec.retain(old);
+    registerNewPlates("이전차량-", SWEEP_INTERVAL);
+    PlateCodec.release(old);
+
+    // 다시 encode한 뒤 retain하기 전에 정리가 한 번 돌아도 남아 있어야 함
+    long key = PlateCodec.encode("재방문차량-0001");
+    assertEquals(old, key);
+    registerNewPlates("이후차량-", SWEEP_INTERVAL);
+
+    PlateCodec.retain(key);
+    assertEquals("재방문차량0001", PlateCodec.decode(key));
+    PlateCodec.release(key);
+  }
+
+  // 새 번호판 등록 (SWEEP_INTERVAL개를 등록하면 정리가 정확히 한 번 실행됨)
+  private static void registerNewPlates(String prefix, int count) {
+    for (int i = 0; i < count; i++) {
+      PlateCodec.encode(prefix + i);
+    }
+  }
+}
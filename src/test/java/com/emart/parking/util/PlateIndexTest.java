@@ -0,0 +1,80 @@
+package com.emart.parking.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PlateIndexTest {
+  private static final int CAPACITY = 64; // 기본 용량
+  private static final long MIX = 0x9E3779B97F4A7C15L;
+
+  @Test
+  void backwardShiftKeepsCollidingKeysReachable() {
+    // 같은 마지막 칸에서 시작해 배열 앞쪽으로 넘어가는 키들
+    List<Long> keys = keysWithHomeSlot(CAPACITY - 1, 4);
+    PlateIndex<String> index = new PlateIndex<>();
+    for (long key : keys) {
+      index.put(key, "v" + key);
+    }
+
+    assertEquals("v" + keys.get(0), index.remove(keys.get(0)));
+    assertNull(index.get(keys.get(0)));
+    for (long key : keys.subList(1, keys.size())) {
+      assertEquals("v" + key, index.get(key));
+    }
+
+    assertEquals("v" + keys.get(2), index.remove(keys.get(2)));
+    assertEquals("v" + keys.get(1), index.get(keys.get(1)));
+    assertEquals("v" + keys.get(3), index.get(keys.get(3)));
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void matchesHashMapUnderRandomPutsAndRemoves() {
+    Random random = new Random(42);
+    PlateIndex<Long> index = new PlateIndex<>();
+    Map<Long, Long> expected = new HashMap<>();
+
+    for (int i = 0; i < 200_000; i++) {
+      long key = 1 + random.nextInt(500);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), index.remove(key));
+      } else {
+        assertEquals(expected.put(key, (long) i), index.put(key, (long) i));
+      }
+    }
+
+    assertEquals(expected.size(), index.size());
+    for (long key = 1; key <= 500; key++) {
+      assertEquals(expected.get(key), index.get(key));
+    }
+  }
+
+  @Test
+  void removingEmptyKeyKeepsSize() {
+    PlateIndex<String> index = new PlateIndex<>();
+    index.put(1L, "a");
+
+    assertNull(index.remove(PlateCodec.EMPTY_KEY));
+    assertEquals(1, index.size());
+    assertEquals("a", index.get(1L));
+  }
+
+  private static List<Long> keysWithHomeSlot(int slot, int count) {
+    List<Long> keys = new ArrayList<>();
+    for (long key = 1; keys.size() < count; key++) {
+      long mixed = key * MIX;
+      if ((((int) (mixed ^ (mixed >>> 32))) & (CAPACITY - 1)) == slot) {
+        keys.add(key);
+      }
+    }
+    return keys;
+  }
+}